@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,10 +24,14 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
+    implementation(libs.caffeine)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -45,8 +50,65 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// run the tests on another JDK; sources stay on 17 (./gradlew test -PtestJavaVersion=21)
+findProperty("testJavaVersion")?.let { version ->
+    tasks.withType<Test>().matching { it.name != "virtualThreadTest" }.configureEach {
+        javaLauncher.set(javaToolchains.launcherFor {
+            languageVersion.set(JavaLanguageVersion.of(version.toString()))
+        })
+    }
+}
+
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load", "jdk21")
+    }
+}
+
+// virtual thread mode needs a JDK 21 runtime, so @Tag("jdk21") tests always run on a JDK 21 toolchain (downloaded if missing) as part of check
+val virtualThreadTest by tasks.registering(Test::class) {
+    description = "Runs the virtual vs platform thread comparison (@Tag(\"jdk21\")) on a JDK 21 toolchain"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    })
+    useJUnitPlatform {
+        includeTags("jdk21")
+    }
+    shouldRunAfter(tasks.test)
+}
+tasks.check {
+    dependsOn(virtualThreadTest)
+}
+
+// load test tasks (./gradlew loadTest -Pload.concurrency=64 -Pload.rate=5000 -Pload.duration=PT30S -Pload.distribution=zipfian)
+val loadTest by tasks.registering(Test::class) {
+    description = "Boots the application on a random port and runs the HTTP load test (@Tag(\"load\"))"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    outputs.upToDateWhen { false }
+    systemProperty("load.output", layout.buildDirectory.dir("load-test").get().asFile.path)
+    project.properties.filterKeys { it.startsWith("load.") }.forEach { (key, value) -> systemProperty(key, value.toString()) }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// benchmark tasks (./gradlew jmh -PjmhIncludes=PointServiceBenchmark -PjmhThreads=8)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    includeTests.set(true)      // benchmarks share test sources (UserKeyDistribution)
+    includes.set(listOf(findProperty("jmhIncludes")?.toString() ?: ".*"))
+    threads.set(findProperty("jmhThreads")?.toString()?.toInt() ?: 4)
+    jvmArgs.set(listOf("-Xmx4g"))
+    resultFormat.set("JSON")
+    profilers.set(findProperty("jmhProfilers")?.toString()?.split(",") ?: emptyList())      // -PjmhProfilers=gc reports bytes allocated per op (gc.alloc.rate.norm)
 }
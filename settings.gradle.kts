@@ -5,6 +5,11 @@ pluginManagement {
     }
 }
 
+plugins {
+    // JDK 21 toolchain download for virtualThreadTest
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.8.0"
+}
+
 dependencyResolutionManagement {
     @Suppress("UnstableApiUsage")
     repositories {
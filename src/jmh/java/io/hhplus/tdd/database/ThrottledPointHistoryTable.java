@@ -0,0 +1,45 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 PointHistoryTable
+ * - 지연 시간을 켜고 끌 수 있음 (켜면 원래 테이블과 같은 최대 300ms 랜덤 지연)
+ * - 조회는 PointHistoryRepository 가 처리하므로 내역은 보관하지 않음 (긴 벤치마크에서 메모리가 쌓이지 않도록)
+ */
+public class ThrottledPointHistoryTable extends PointHistoryTable {
+
+    private final AtomicLong cursor = new AtomicLong(1);
+    private volatile boolean throttled;
+
+    public ThrottledPointHistoryTable(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    public void setThrottled(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        if (throttled) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(300));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return List.of();
+    }
+}
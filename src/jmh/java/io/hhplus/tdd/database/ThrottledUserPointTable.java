@@ -0,0 +1,52 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크용 UserPointTable
+ * - 지연 시간을 켜고 끌 수 있음 (켜면 원래 테이블과 같은 최대 200ms/300ms 랜덤 지연)
+ * - 지연을 끄면 서비스 자체의 오버헤드만 측정 가능
+ */
+public class ThrottledUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private volatile boolean throttled;
+
+    public ThrottledUserPointTable(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    public void setThrottled(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        throttle(200);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        throttle(300);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    private void throttle(long millis) {
+        if (!throttled) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.database.ThrottledPointHistoryTable;
+import io.hhplus.tdd.database.ThrottledUserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointLedger;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 저널 벤치마크
+ * - append : 기록 처리량 (awaitDurable 포함, 스레드 수는 -PjmhThreads 로 지정)
+ * - recover : entries 건이 쌓인 저널을 원장과 내역 저장소로 복구하는 시간 (snapshot=true 이면 스냅샷으로 접은 뒤 복구)
+ *   테이블은 지연을 켠 상태로 두어, 복구가 느린 테이블 저장을 기다리지 않는지 확인 (잔액 저장은 iteration 이 끝난 뒤 지연을 끄고 마저 처리)
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PointJournalBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int USERS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        @Param({"1", "5"})
+        public long fsyncIntervalMillis;
+
+        private Path directory;
+        private MappedPointJournal journal;
+        private final AtomicLong ids = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("point-journal-append");
+            journal = new MappedPointJournal(directory, SEGMENT_SIZE, fsyncIntervalMillis);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoverState {
+        @Param({"2000000", "5000000"})
+        public int entries;
+
+        @Param({"false", "true"})
+        public boolean snapshot;
+
+        private Path directory;
+        private ThrottledUserPointTable userPointTable;
+        private PointLedger pointLedger;
+        private PointHistoryRepository pointHistoryRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("point-journal-recover");
+            MappedPointJournal journal = new MappedPointJournal(directory, SEGMENT_SIZE, 1);
+            for (long id = 1; id <= entries; id++) {
+                journal.append(new PointHistory(id, id % USERS, 100, TransactionType.CHARGE, 0), id * 100);
+            }
+            long closed = journal.rotate();
+            journal.close();
+            if (snapshot) {
+                PointSnapshot.compact(directory, closed);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void setUpTarget() {
+            userPointTable = new ThrottledUserPointTable(true);
+            pointLedger = new PointLedger(userPointTable, new PointMetrics());
+            pointHistoryRepository = new PointHistoryRepository(new ThrottledPointHistoryTable(false));
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDownTarget() throws InterruptedException {
+            userPointTable.setThrottled(false);
+            pointLedger.close();
+            pointHistoryRepository.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void append(AppendState state) {
+        long id = state.ids.incrementAndGet();
+        long sequence = state.journal.append(new PointHistory(id, id % USERS, 100, TransactionType.CHARGE, 0), id);
+        state.journal.awaitDurable(sequence);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PointSnapshot recover(RecoverState state) throws Exception {
+        return PointJournalManager.recover(state.directory, state.pointLedger, state.pointHistoryRepository);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
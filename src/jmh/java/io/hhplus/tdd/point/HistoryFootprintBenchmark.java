@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 저장 방식별 메모리 사용량 비교
+ * - records  : PointHistoryTable 과 같이 PointHistory 객체를 ArrayList 에 보관
+ * - columnar : 유저별 인덱스에 원시 타입 배열로 보관 (PointHistoryRepository 방식)
+ * - entries 건을 채운 뒤 GC 후 늘어난 힙 사용량을 bytesPerEntry, retainedMegabytes 로 보고
+ * - 10M 건은 힙이 충분해야 하므로 -Xmx4g 이상에서 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class HistoryFootprintBenchmark {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Param({"1000000", "10000000"})
+    public int entries;
+
+    @Param({"records", "columnar"})
+    public String store;
+
+    @Param({"10000"})
+    public int users;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerEntry;
+        public long retainedMegabytes;
+    }
+
+    @Benchmark
+    public Object fill(Footprint footprint) {
+        long before = usedHeap();
+        Object filled = "records".equals(store) ? fillRecords() : fillColumnar();
+        long retained = usedHeap() - before;
+        footprint.bytesPerEntry = retained / entries;
+        footprint.retainedMegabytes = retained / (1024 * 1024);
+        return filled;
+    }
+
+    private List<PointHistory> fillRecords() {
+        List<PointHistory> records = new ArrayList<>();
+        for (long id = 1; id <= entries; id++) {
+            records.add(new PointHistory(id, id % users, id, TYPES[(int) (id & 1)], id));
+        }
+        return records;
+    }
+
+    private UserHistoryIndex fillColumnar() {
+        UserHistoryIndex index = new UserHistoryIndex(PointAggregate.DEFAULT_ZONE);
+        for (long id = 1; id <= entries; id++) {
+            index.findOrCreate(id % users).append(id, id, TYPES[(int) (id & 1)], id);
+        }
+        return index;
+    }
+
+    // 채운 결과는 아직 참조중이므로 GC 후 남은 사용량이 보관 비용
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
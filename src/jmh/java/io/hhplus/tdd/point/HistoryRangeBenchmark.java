@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 한 명의 내역에서 기록 시각 범위 조회
+ * - index : 시각 경계를 이진 탐색한 뒤 그 사이만 읽음 (HistorySegment.range)
+ * - scan  : 전체 내역을 순회하며 시각을 비교 (인덱스 없이 조회하는 경우)
+ * - 내역은 1ms 간격, 가끔 lag ms 만큼 이른 시각이 섞임 (동시 요청으로 반영 순서와 추가 순서가 바뀐 경우)
+ * - window 는 조회 범위(ms), 결과는 최대 limit 건
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class HistoryRangeBenchmark {
+
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    @Param({"1000000"})
+    public int historySize;
+
+    @Param({"100", "10000"})
+    public int window;
+
+    @Param({"0", "5"})
+    public int lag;
+
+    @Param({"100"})
+    public int limit;
+
+    private HistorySegment segment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        segment = new HistorySegment(1, PointAggregate.DEFAULT_ZONE);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < historySize; i++) {
+            long updateMillis = START_MILLIS + i;
+            if (lag > 0 && random.nextInt(100) == 0) {
+                updateMillis -= random.nextInt(lag + 1);
+            }
+            segment.append(i + 1, 1, TransactionType.CHARGE, updateMillis);
+        }
+    }
+
+    @Benchmark
+    public PointHistoryPage index() {
+        long from = randomFrom();
+        return segment.range(from, from + window, 0, limit);
+    }
+
+    @Benchmark
+    public List<PointHistory> scan() {
+        long from = randomFrom();
+        long to = from + window;
+        List<PointHistory> histories = new ArrayList<>(limit);
+        segment.forEach(history -> {
+            if (histories.size() < limit && history.updateMillis() >= from && history.updateMillis() < to) {
+                histories.add(history);
+            }
+        });
+        return histories;
+    }
+
+    private long randomFrom() {
+        return START_MILLIS + ThreadLocalRandom.current().nextLong(historySize - window);
+    }
+}
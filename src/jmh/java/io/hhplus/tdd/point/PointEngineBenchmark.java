@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ThrottledPointHistoryTable;
+import io.hhplus.tdd.database.ThrottledUserPointTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 명령 실행 방식 비교
+ * - engine       : direct(요청 스레드에서 원장 CAS) / async(전용 스레드 풀) / sharded(샤드 전용 스레드에서 순서대로)
+ * - distribution : 유저 id 분포 (uniform / zipfian / single)
+ * - 테이블 지연은 끄고 명령 처리 자체의 처리량만 비교, 스레드 수는 -PjmhThreads 로 지정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PointEngineBenchmark {
+
+    private static final long INITIAL_POINT = 1_000_000_000_000L;     // 사용 벤치마크에서 잔액이 부족하지 않도록
+
+    @Param({"direct", "async", "sharded"})
+    public String engine;
+
+    @Param({"uniform", "zipfian", "single"})
+    public String distribution;
+
+    @Param({"1000"})
+    public int users;
+
+    private PointService pointService;
+    private PointCommandExecutor executor;
+    private UserKeyDistribution keys;
+    private ExecutorService asyncPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointService = new PointService(new ThrottledUserPointTable(false), new ThrottledPointHistoryTable(false));
+        executor = switch (engine) {
+            case "sharded" -> new ShardedPointCommandEngine(pointService, Runtime.getRuntime().availableProcessors(), 1024);
+            case "async" -> new AsyncPointCommandExecutor(pointService, asyncPool = Executors.newFixedThreadPool(32));
+            default -> new DirectPointCommandExecutor(pointService);
+        };
+        keys = new UserKeyDistribution(distribution, users);
+        for (long id = 1; id <= users; id++) {
+            pointService.chargePoint(id, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (asyncPool != null) {
+            asyncPool.shutdown();
+        }
+        pointService.close();       // 남은 잔액/내역을 저장하고 write-behind 스레드 종료
+    }
+
+    @Benchmark
+    public UserPointResponse chargePoint() {
+        return executor.submit(keys.next(), TransactionType.CHARGE, 1).join();
+    }
+
+    @Benchmark
+    public UserPointResponse usePoint() {
+        return executor.submit(keys.next(), TransactionType.USE, 1).join();
+    }
+}
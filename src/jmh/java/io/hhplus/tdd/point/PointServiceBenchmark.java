@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ThrottledPointHistoryTable;
+import io.hhplus.tdd.database.ThrottledUserPointTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 경로 벤치마크
+ * - latency      : none(서비스 자체 오버헤드만) / simulated(원래 테이블과 같은 지연)
+ * - distribution : 유저 id 분포 (single / uniform / zipfian)
+ * - historySize  : 유저별로 미리 쌓아둔 내역 수
+ * - 스레드 수는 -PjmhThreads 로 지정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 1_000_000_000_000L;     // 사용 벤치마크에서 잔액이 부족하지 않도록
+
+    @Param({"none", "simulated"})
+    public String latency;
+
+    @Param({"single", "uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"0", "100"})
+    public int historySize;
+
+    private ThrottledUserPointTable userPointTable;
+    private ThrottledPointHistoryTable pointHistoryTable;
+    private PointService pointService;
+    private UserKeyDistribution keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userPointTable = new ThrottledUserPointTable(false);
+        pointHistoryTable = new ThrottledPointHistoryTable(false);
+        pointService = new PointService(userPointTable, pointHistoryTable);
+        keys = new UserKeyDistribution(distribution, users);
+
+        // 지연 없이 잔액과 내역을 미리 준비
+        for (long id = 1; id <= users; id++) {
+            pointService.chargePoint(id, INITIAL_POINT);
+            for (int i = 1; i < historySize; i++) {
+                pointService.chargePoint(id, 1);
+            }
+        }
+
+        boolean throttled = "simulated".equals(latency);
+        userPointTable.setThrottled(throttled);
+        pointHistoryTable.setThrottled(throttled);
+    }
+
+    // 남은 잔액/내역은 지연 없이 저장하고 write-behind 스레드 종료 (다음 trial 로 스레드가 남지 않도록)
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        userPointTable.setThrottled(false);
+        pointHistoryTable.setThrottled(false);
+        pointService.close();
+    }
+
+    @Benchmark
+    public UserPointResponse chargePoint() {
+        return pointService.chargePoint(keys.next(), 1);
+    }
+
+    @Benchmark
+    public UserPointResponse usePoint() throws Exception {
+        return pointService.usePoint(keys.next(), 1);
+    }
+
+    @Benchmark
+    public UserPoint selectPointById() {
+        return pointService.selectPointById(keys.next());
+    }
+
+    @Benchmark
+    public List<PointHistory> findAllHistoryById() {
+        return pointService.findAllHistoryById(keys.next());
+    }
+}
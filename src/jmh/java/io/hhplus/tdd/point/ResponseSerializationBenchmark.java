@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 직렬화 방식별 시간과 할당량 비교 (./gradlew jmh -PjmhIncludes=ResponseSerializationBenchmark -PjmhProfilers=gc)
+ * - reflective : 기본 BeanSerializer (record 접근자를 리플렉션으로 호출)
+ * - streaming  : PointJsonModule (필드를 직접 쓰고 필드 이름과 enum 값은 미리 인코딩)
+ * - 출력은 버리는 스트림에 써서 직렬화 자체의 할당만 비교 (gc.alloc.rate.norm = 요청당 할당 byte)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Param({"reflective", "streaming"})
+    public String serializer;
+
+    @Param({"100", "1000"})
+    public int historySize;
+
+    private ObjectWriter writer;
+    private UserPoint userPoint;
+    private List<PointHistory> histories;
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if ("streaming".equals(serializer)) {
+            objectMapper.registerModule(new PointJsonModule());
+        }
+        writer = objectMapper.writer();
+        userPoint = new UserPoint(1, 123_456, System.currentTimeMillis());
+        histories = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            histories.add(new PointHistory(i + 1, 1, 1000L * i, TYPES[i & 1], System.currentTimeMillis() + i));
+        }
+    }
+
+    // 충전/사용, 잔액 조회 응답
+    @Benchmark
+    public void userPoint() throws IOException {
+        writer.writeValue(sink, userPoint);
+    }
+
+    // 내역 조회 응답
+    @Benchmark
+    public void histories() throws IOException {
+        writer.writeValue(sink, histories);
+    }
+}
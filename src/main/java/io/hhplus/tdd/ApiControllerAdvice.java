@@ -1,14 +1,64 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.exception.TooManyRequestsException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
+
+    // 요청 수 한도를 넘어 거절된 요청 (Retry-After 이후 다시 시도)
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    // 잘못된 요청 값 (같은 유저에게 이체, 0 이하 금액, limit 1 미만, from > to 등)
+    @ExceptionHandler(value = IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    // 같은 멱등성 키로 다른 요청을 보냄
+    @ExceptionHandler(value = IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    // 처리 executor 대기열이 가득 차서 거절된 요청
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", "요청이 많아 처리할 수 없습니다."));
+    }
+
+    // 비동기 응답(CompletableFuture)의 실패는 감싼 예외를 꺼내서 동기 요청과 같은 응답으로 변환
+    @ExceptionHandler(value = {CompletionException.class, ExecutionException.class})
+    public ResponseEntity<ErrorResponse> handleAsync(Exception e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof TooManyRequestsException tooManyRequests) {
+            return handleTooManyRequests(tooManyRequests);
+        }
+        if (cause instanceof RejectedExecutionException rejected) {
+            return handleRejected(rejected);
+        }
+        if (cause instanceof IllegalArgumentException illegalArgument) {
+            return handleIllegalArgument(illegalArgument);
+        }
+        return handleException(cause instanceof Exception exception ? exception : e);
+    }
 }
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * 저널 레코드 (48 byte 고정 길이)
+ * - historyId, userId, amount, updateMillis, balance (long x 5) + type (byte) + padding (3) + crc32 (int)
+ * - balance 는 기록 당시 잔액 (확인용, 복구는 amount 합산으로 처리)
+ * - crc 가 맞지 않으면 (쓰다 만 레코드, 아직 쓰지 않은 0 영역) 저널의 끝으로 봄
+ */
+public record JournalRecord(
+        PointHistory history,
+        long balance
+) {
+
+    public static final int SIZE = 48;
+    private static final int PAYLOAD_SIZE = SIZE - Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // buffer 의 현재 위치에 기록
+    void writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(history.id())
+                .putLong(history.userId())
+                .putLong(history.amount())
+                .putLong(history.updateMillis())
+                .putLong(balance)
+                .put((byte) history.type().ordinal())
+                .put((byte) 0).put((byte) 0).put((byte) 0);
+        buffer.putInt(crc(buffer, start));
+    }
+
+    // buffer 의 현재 위치에서 읽기 (올바른 레코드가 아니면 null)
+    static JournalRecord readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) {
+            return null;
+        }
+        int start = buffer.position();
+        int expected = crc(buffer, start);
+        if (buffer.getInt(start + PAYLOAD_SIZE) != expected) {
+            return null;
+        }
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        long updateMillis = buffer.getLong();
+        long balance = buffer.getLong();
+        int type = buffer.get();
+        buffer.position(start + SIZE);
+        if (type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        return new JournalRecord(new PointHistory(id, userId, amount, TYPES[type], updateMillis), balance);
+    }
+
+    private static int crc(ByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+}
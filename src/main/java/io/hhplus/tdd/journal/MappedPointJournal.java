@@ -0,0 +1,276 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑 파일 기반 저널
+ * - 세그먼트 파일(journal-0000000001.log ...)을 고정 크기로 매핑해서 레코드를 이어 씀
+ * - 세그먼트가 가득 차면 디스크에 반영하고 다음 세그먼트로 넘어감
+ * - fsync 는 전용 스레드가 fsyncInterval 마다 모아서 한번에 처리 (group fsync)
+ * - 시작할 때는 항상 새 세그먼트에 쓰므로, 이전 세그먼트는 읽기만 함
+ * - fsync 가 실패하면 간격을 늘려가며 다시 시도하고, 성공할 때까지 awaitDurable 은 기다리지 않고 실패 (요청이 멈추지 않도록)
+ */
+public class MappedPointJournal implements PointJournal, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointJournal.class);
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalNanos;
+    private final Thread flusher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durableChanged = lock.newCondition();
+    private final Condition pendingChanged = lock.newCondition();
+    private long segmentIndex;              // 현재 쓰고 있는 세그먼트 번호
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long written;                   // 기록한 레코드 수
+    private long durable;                   // 디스크에 반영된 레코드 수
+    private RuntimeException failure;       // 마지막 fsync 실패 (다시 성공하면 null)
+    private volatile boolean running = true;
+
+    public MappedPointJournal(Path directory, int segmentSize, long fsyncIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % JournalRecord.SIZE;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        Files.createDirectories(directory);
+        List<Long> segments = segmentIndexes(directory);
+        openSegment(segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1);
+        this.flusher = new Thread(this::runFlusher, "point-journal-fsync");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public long append(PointHistory history, long balance) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("저널이 종료되었습니다.");
+            }
+            if (buffer.remaining() < JournalRecord.SIZE) {
+                rollSegment();
+            }
+            new JournalRecord(history, balance).writeTo(buffer);
+            written++;
+            pendingChanged.signal();
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한 세그먼트 안에 연속으로 기록 (남은 공간이 모자라면 세그먼트를 먼저 넘김)
+    @Override
+    public long appendAll(PointHistory[] histories, long[] balances) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("저널이 종료되었습니다.");
+            }
+            if (buffer.remaining() < JournalRecord.SIZE * histories.length) {
+                rollSegment();
+            }
+            for (int i = 0; i < histories.length; i++) {
+                new JournalRecord(histories[i], balances[i]).writeTo(buffer);
+                written++;
+            }
+            pendingChanged.signal();
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durable < sequence) {
+                if (!running) {
+                    throw new IllegalStateException("저널이 종료되었습니다.");
+                }
+                if (failure != null) {
+                    throw new IllegalStateException("저널을 디스크에 반영하지 못했습니다.", failure);
+                }
+                durableChanged.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 새 세그먼트로 넘어감 (스냅샷 생성 전에 호출)
+     * - 닫힌 세그먼트 번호를 반환하며, 그 번호까지의 세그먼트는 더 이상 변경되지 않음
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            long closed = segmentIndex;
+            rollSegment();
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            running = false;
+            pendingChanged.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            force();
+            channel.close();
+            durableChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 세그먼트 번호 목록 (오름차순)
+    public static List<Long> segmentIndexes(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    // 세그먼트의 올바른 레코드를 순서대로 읽음 (처음으로 올바르지 않은 레코드에서 멈춤)
+    public static void read(Path segment, Consumer<JournalRecord> action) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            for (JournalRecord record; (record = JournalRecord.readFrom(readBuffer)) != null; ) {
+                action.accept(record);
+            }
+        }
+    }
+
+    // lock 안에서 호출
+    private void rollSegment() {
+        force();
+        try {
+            channel.close();
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // lock 안에서 호출 (생성자 제외)
+    private void openSegment(long index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(segmentPath(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    // lock 안에서 호출
+    private void force() {
+        if (durable < written) {
+            sync(buffer);
+            durable = written;
+            failure = null;
+            durableChanged.signalAll();
+        }
+    }
+
+    // 디스크 반영 (테스트에서 실패를 흉내낼 수 있도록 분리)
+    void sync(MappedByteBuffer target) {
+        target.force();
+    }
+
+    // fsync 는 락 밖에서 처리해서 그동안에도 기록은 계속 받음
+    private void runFlusher() {
+        long retryNanos = fsyncIntervalNanos;
+        while (running) {
+            long target;
+            MappedByteBuffer current;
+            lock.lock();
+            try {
+                while (running && durable == written) {
+                    pendingChanged.awaitUninterruptibly();
+                }
+                target = written;
+                current = buffer;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                sync(current);
+            } catch (RuntimeException e) {
+                log.error("저널 fsync 실패, {}ms 후 다시 시도", TimeUnit.NANOSECONDS.toMillis(retryNanos), e);
+                lock.lock();
+                try {
+                    failure = e;
+                    durableChanged.signalAll();     // 기다리던 요청은 실패로 끝냄
+                } finally {
+                    lock.unlock();
+                }
+                LockSupport.parkNanos(retryNanos);
+                retryNanos = Math.min(Math.max(retryNanos, 1) * 2, MAX_RETRY_NANOS);
+                continue;
+            }
+            retryNanos = fsyncIntervalNanos;
+
+            lock.lock();
+            try {
+                failure = null;
+                if (durable < target) {
+                    durable = target;
+                    durableChanged.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            LockSupport.parkNanos(fsyncIntervalNanos);      // 그 사이 들어온 기록을 모아서 다음에 한번에 반영
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+
+/**
+ * 포인트 변경 저널
+ * - 충전/사용 한 건마다 내역과 변경 후 잔액을 기록
+ * - append 는 기록 순번을 반환하고, awaitDurable 로 디스크에 반영될 때까지 대기
+ */
+public interface PointJournal {
+
+    long append(PointHistory history, long balance);
+
+    // 여러 건을 다른 기록 없이 연속으로 기록하고 마지막 순번을 반환 (이체처럼 함께 반영되어야 하는 내역)
+    default long appendAll(PointHistory[] histories, long[] balances) {
+        long sequence = 0;
+        for (int i = 0; i < histories.length; i++) {
+            sequence = append(histories[i], balances[i]);
+        }
+        return sequence;
+    }
+
+    void awaitDurable(long sequence);
+
+    // 저널을 사용하지 않을 때
+    static PointJournal none() {
+        return new PointJournal() {
+            @Override
+            public long append(PointHistory history, long balance) {
+                return 0;
+            }
+
+            @Override
+            public void awaitDurable(long sequence) {
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointLedger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 저널 설정
+ * - point.journal.enabled=true 이면 복구를 마친 뒤 저널을 열어서 PointService 가 생성되기 전에 원장과 내역이 채워지도록 함
+ * - 스냅샷도 point.history.retention 이 지난 내역은 체크포인트로 접음
+ * - 사용하지 않으면 아무것도 기록하지 않는 저널
+ */
+@Configuration
+public class PointJournalConfig {
+
+    @Bean
+    public PointJournal pointJournal(PointLedger pointLedger,
+                                     PointHistoryRepository pointHistoryRepository,
+                                     @Value("${point.journal.enabled:false}") boolean enabled,
+                                     @Value("${point.journal.directory:data/journal}") String directory,
+                                     @Value("${point.journal.segment-size:67108864}") int segmentSize,
+                                     @Value("${point.journal.fsync-interval-ms:2}") long fsyncIntervalMillis,
+                                     @Value("${point.journal.snapshot-interval-ms:600000}") long snapshotIntervalMillis,
+                                     @Value("${point.history.retention:30d}") Duration retention) throws IOException {
+        if (!enabled) {
+            return PointJournal.none();
+        }
+        Path path = Path.of(directory);
+        PointJournalManager.recover(path, pointLedger, pointHistoryRepository);
+        return new PointJournalManager(path, segmentSize, fsyncIntervalMillis, snapshotIntervalMillis, retention);
+    }
+}
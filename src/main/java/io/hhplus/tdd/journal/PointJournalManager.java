@@ -0,0 +1,101 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저널 관리
+ * - 시작할 때 최신 스냅샷 + 이후 저널을 읽어 잔액은 PointLedger 에, 내역은 PointHistoryRepository 에 복구
+ * - snapshotInterval 마다 현재 세그먼트를 닫고 닫힌 세그먼트를 스냅샷으로 접음 (보관 기간이 지난 내역은 체크포인트로)
+ */
+public class PointJournalManager implements PointJournal, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournalManager.class);
+
+    private final MappedPointJournal journal;
+    private final ScheduledExecutorService scheduler;
+    private final Duration retention;       // null 이면 스냅샷에 내역을 모두 남김
+
+    public PointJournalManager(Path directory, int segmentSize, long fsyncIntervalMillis, long snapshotIntervalMillis) throws IOException {
+        this(directory, segmentSize, fsyncIntervalMillis, snapshotIntervalMillis, null);
+    }
+
+    public PointJournalManager(Path directory, int segmentSize, long fsyncIntervalMillis, long snapshotIntervalMillis,
+                               Duration retention) throws IOException {
+        this.journal = new MappedPointJournal(directory, segmentSize, fsyncIntervalMillis);
+        this.retention = retention;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 저널 내용을 원장과 내역 저장소에 복구 (저널을 열기 전에 한번만 호출)
+     * - 잔액은 원장 cell 로 바로 등록하고, 테이블 저장은 UserPointWriter 가 비동기로 처리 (복구가 느린 테이블 저장을 기다리지 않음)
+     * - 내역은 체크포인트를 먼저 복구하고, 남은 내역은 이미 발급된 id 그대로 저장소 인덱스에 추가
+     */
+    public static PointSnapshot recover(Path directory, PointLedger pointLedger, PointHistoryRepository pointHistoryRepository) throws IOException {
+        long start = System.nanoTime();
+        PointSnapshot snapshot = PointSnapshot.recover(directory);
+        snapshot.users().forEach((userId, user) -> {
+            pointLedger.restore(userId, user.balance());
+            pointHistoryRepository.restore(user.checkpoint());
+            for (PointHistory history : user.histories()) {
+                pointHistoryRepository.restore(history);
+            }
+        });
+        log.info("저널 복구 완료 : 유저 {} 명, 내역 {} 건, {} ms", snapshot.users().size(), snapshot.recordCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+
+    @Override
+    public long append(PointHistory history, long balance) {
+        return journal.append(history, balance);
+    }
+
+    @Override
+    public long appendAll(PointHistory[] histories, long[] balances) {
+        return journal.appendAll(histories, balances);
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        journal.awaitDurable(sequence);
+    }
+
+    // 현재 세그먼트까지 스냅샷으로 접음
+    public synchronized PointSnapshot snapshot() throws IOException {
+        long horizonMillis = retention == null ? Long.MIN_VALUE : System.currentTimeMillis() - retention.toMillis();
+        return PointSnapshot.compact(journal.directory(), journal.rotate(), horizonMillis);
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        journal.close();
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            PointSnapshot snapshot = snapshot();
+            log.info("스냅샷 생성 : 세그먼트 {} 까지, 내역 {} 건", snapshot.lastSegment(), snapshot.recordCount());
+        } catch (IOException | RuntimeException e) {
+            log.error("스냅샷 생성 실패", e);
+        }
+    }
+}
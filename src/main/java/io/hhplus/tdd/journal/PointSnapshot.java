@@ -0,0 +1,302 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCheckpoint;
+import io.hhplus.tdd.point.PointTotals;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 포인트 스냅샷
+ * - 저널 세그먼트를 lastSegment 까지 접어서 유저별 최종 잔액, 체크포인트, 남은 내역만 남긴 상태
+ * - 기록 시각이 보관 기간(horizonMillis) 이전인 앞부분 내역은 유저별 체크포인트 하나로 접어서 스냅샷이 계속 커지지 않도록 함
+ * - 파일(snapshot-0000000003.bin)은 임시 파일에 쓰고 fsync 한 뒤 이름을 바꿔 한번에 교체
+ * - 형식 : magic, version, lastSegment, 유저 수,
+ *   [userId, 잔액, 체크포인트(lastId, lastMillis, 충전 금액, 충전 수, 사용 금액, 사용 수), 내역 수, [id, amount, type, updateMillis]...]..., crc32
+ * - version 1(체크포인트 없이 전체 내역) 파일도 읽을 수 있음
+ */
+public class PointSnapshot {
+
+    private static final int MAGIC = 0x50534E50;       // "PSNP"
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_CHECKPOINT = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Map<Long, UserState> users = new LinkedHashMap<>();
+    private long lastSegment;       // 반영된 마지막 세그먼트 번호
+    private long recordCount;       // 반영된 내역 수 (체크포인트로 접힌 내역 포함)
+
+    public Map<Long, UserState> users() {
+        return Collections.unmodifiableMap(users);
+    }
+
+    public long lastSegment() {
+        return lastSegment;
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 최신 스냅샷에 그 이후 세그먼트를 모두 적용한 상태 (서버 시작시 복구용)
+     */
+    public static PointSnapshot recover(Path directory) throws IOException {
+        PointSnapshot snapshot = loadLatest(directory);
+        for (long index : MappedPointJournal.segmentIndexes(directory)) {
+            if (index > snapshot.lastSegment) {
+                snapshot.replay(directory, index);
+            }
+        }
+        snapshot.sortHistories();
+        return snapshot;
+    }
+
+    /**
+     * 최신 스냅샷에 uptoSegment 까지의 세그먼트를 접어 새 스냅샷을 만들고, 필요 없어진 세그먼트와 스냅샷은 삭제
+     * - uptoSegment 까지의 세그먼트는 더 이상 변경되지 않아야 함 (MappedPointJournal.rotate 의 반환값)
+     * - 내역은 접지 않고 모두 남김
+     */
+    public static PointSnapshot compact(Path directory, long uptoSegment) throws IOException {
+        return compact(directory, uptoSegment, Long.MIN_VALUE);
+    }
+
+    /**
+     * compact 와 같고, 기록 시각이 horizonMillis 이전인 유저별 앞부분 내역은 체크포인트로 접음
+     */
+    public static PointSnapshot compact(Path directory, long uptoSegment, long horizonMillis) throws IOException {
+        PointSnapshot snapshot = loadLatest(directory);
+        for (long index : MappedPointJournal.segmentIndexes(directory)) {
+            if (index > snapshot.lastSegment && index <= uptoSegment) {
+                snapshot.replay(directory, index);
+            }
+        }
+        snapshot.lastSegment = Math.max(snapshot.lastSegment, uptoSegment);
+        snapshot.sortHistories();
+        snapshot.fold(horizonMillis);
+        snapshot.write(directory);
+
+        // 새 스냅샷이 디스크에 반영된 뒤에 삭제하므로 중간에 멈춰도 복구 가능
+        for (long index : MappedPointJournal.segmentIndexes(directory)) {
+            if (index <= snapshot.lastSegment) {
+                Files.deleteIfExists(MappedPointJournal.segmentPath(directory, index));
+            }
+        }
+        for (long index : snapshotIndexes(directory)) {
+            if (index < snapshot.lastSegment) {
+                Files.deleteIfExists(snapshotPath(directory, index));
+            }
+        }
+        return snapshot;
+    }
+
+    private void replay(Path directory, long segment) throws IOException {
+        MappedPointJournal.read(MappedPointJournal.segmentPath(directory, segment), this::apply);
+        lastSegment = segment;
+    }
+
+    // 같은 유저의 동시 요청은 기록 순서와 잔액 반영 순서가 다를 수 있으므로, 잔액은 금액을 더하고 빼서 복구
+    private void apply(JournalRecord record) {
+        PointHistory history = record.history();
+        UserState user = users.computeIfAbsent(history.userId(), UserState::new);
+        user.balance += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        user.histories.add(history);
+        recordCount++;
+    }
+
+    // 저널에는 내역 id 순서와 다르게 기록될 수 있으므로 유저별로 id 순서로 정렬 (거의 정렬된 상태라 빠름)
+    private void sortHistories() {
+        for (UserState user : users.values()) {
+            user.histories.sort(Comparator.comparingLong(PointHistory::id));
+        }
+    }
+
+    private void fold(long horizonMillis) {
+        for (UserState user : users.values()) {
+            user.fold(horizonMillis);
+        }
+    }
+
+    private static PointSnapshot loadLatest(Path directory) throws IOException {
+        List<Long> indexes = snapshotIndexes(directory);
+        if (indexes.isEmpty()) {
+            return new PointSnapshot();
+        }
+        return read(snapshotPath(directory, indexes.get(indexes.size() - 1)));
+    }
+
+    static PointSnapshot read(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || (version != VERSION && version != VERSION_WITHOUT_CHECKPOINT)) {
+                throw new IOException("스냅샷 형식이 올바르지 않습니다. : " + path);
+            }
+            PointSnapshot snapshot = new PointSnapshot();
+            snapshot.lastSegment = in.readLong();
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                long userId = in.readLong();
+                UserState user = new UserState(userId);
+                user.balance = in.readLong();
+                if (version == VERSION) {
+                    long lastId = in.readLong();
+                    long lastMillis = in.readLong();
+                    PointTotals totals = new PointTotals(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+                    user.checkpoint = new PointHistoryCheckpoint(userId, lastId, lastMillis, totals);
+                    snapshot.recordCount += totals.chargeCount() + totals.useCount();
+                }
+                int historyCount = in.readInt();
+                user.histories.ensureCapacity(historyCount);
+                for (int j = 0; j < historyCount; j++) {
+                    long id = in.readLong();
+                    long amount = in.readLong();
+                    TransactionType type = TYPES[in.readByte()];
+                    long updateMillis = in.readLong();
+                    user.histories.add(new PointHistory(id, userId, amount, type, updateMillis));
+                }
+                snapshot.users.put(userId, user);
+                snapshot.recordCount += historyCount;
+            }
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(file).readInt() != expected) {
+                throw new IOException("스냅샷 체크섬이 맞지 않습니다. : " + path);
+            }
+            return snapshot;
+        }
+    }
+
+    private void write(Path directory) throws IOException {
+        Path target = snapshotPath(directory, lastSegment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(file);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastSegment);
+            out.writeInt(users.size());
+            for (Map.Entry<Long, UserState> entry : users.entrySet()) {
+                UserState user = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeLong(user.balance);
+                PointHistoryCheckpoint checkpoint = user.checkpoint;
+                out.writeLong(checkpoint.lastId());
+                out.writeLong(checkpoint.lastMillis());
+                out.writeLong(checkpoint.totals().chargeAmount());
+                out.writeLong(checkpoint.totals().chargeCount());
+                out.writeLong(checkpoint.totals().useAmount());
+                out.writeLong(checkpoint.totals().useCount());
+                out.writeInt(user.histories.size());
+                for (PointHistory history : user.histories) {
+                    out.writeLong(history.id());
+                    out.writeLong(history.amount());
+                    out.writeByte(history.type().ordinal());
+                    out.writeLong(history.updateMillis());
+                }
+            }
+            out.flush();
+            new DataOutputStream(buffered).writeInt((int) crc.getValue());     // crc 는 체크섬 계산에서 제외
+            buffered.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static List<Long> snapshotIndexes(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static Path snapshotPath(Path directory, long lastSegment) {
+        return directory.resolve(String.format("%s%010d%s", SNAPSHOT_PREFIX, lastSegment, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * 유저 한 명의 복구 상태 (최종 잔액, 접힌 내역의 체크포인트, 남은 내역은 id 순서대로)
+     */
+    public static class UserState {
+        private long balance;
+        private PointHistoryCheckpoint checkpoint;
+        private final ArrayList<PointHistory> histories = new ArrayList<>();
+
+        private UserState(long userId) {
+            this.checkpoint = PointHistoryCheckpoint.empty(userId);
+        }
+
+        public long balance() {
+            return balance;
+        }
+
+        public PointHistoryCheckpoint checkpoint() {
+            return checkpoint;
+        }
+
+        public List<PointHistory> histories() {
+            return Collections.unmodifiableList(histories);
+        }
+
+        // 기록 시각이 horizonMillis 이전인 앞부분 내역을 체크포인트에 더하고 목록에서 제거 (id 순서로 정렬된 뒤 호출)
+        private void fold(long horizonMillis) {
+            int cut = 0;
+            while (cut < histories.size() && histories.get(cut).updateMillis() < horizonMillis) {
+                cut++;
+            }
+            if (cut == 0) {
+                return;
+            }
+            PointTotals totals = checkpoint.totals();
+            long chargeAmount = totals.chargeAmount();
+            long chargeCount = totals.chargeCount();
+            long useAmount = totals.useAmount();
+            long useCount = totals.useCount();
+            long lastMillis = checkpoint.lastMillis();
+            for (PointHistory history : histories.subList(0, cut)) {
+                if (history.type() == TransactionType.CHARGE) {
+                    chargeAmount += history.amount();
+                    chargeCount++;
+                } else {
+                    useAmount += history.amount();
+                    useCount++;
+                }
+                lastMillis = Math.max(lastMillis, history.updateMillis());
+            }
+            checkpoint = new PointHistoryCheckpoint(checkpoint.userId(), histories.get(cut - 1).id(), lastMillis,
+                    new PointTotals(chargeAmount, chargeCount, useAmount, useCount));
+            histories.subList(0, cut).clear();
+        }
+    }
+}
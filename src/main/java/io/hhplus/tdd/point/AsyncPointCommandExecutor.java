@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 전용 executor 에서 PointService 를 호출 (요청 스레드는 바로 반환)
+ * - executor 의 대기열이 가득 차면 RejectedExecutionException 으로 실패 (ApiControllerAdvice 에서 503)
+ */
+public class AsyncPointCommandExecutor implements PointCommandExecutor {
+
+    private final PointService pointService;
+    private final Executor executor;
+
+    public AsyncPointCommandExecutor(PointService pointService, Executor executor) {
+        this.pointService = pointService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<UserPointResponse> submit(long userId, TransactionType type, long amount) {
+        try {
+            return type == TransactionType.CHARGE
+                    ? pointService.chargePointAsync(userId, amount, executor)
+                    : pointService.usePointAsync(userId, amount, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 요청 스레드에서 PointService 를 바로 호출 (결과는 이미 완료된 future)
+ */
+public class DirectPointCommandExecutor implements PointCommandExecutor {
+
+    private final PointService pointService;
+
+    public DirectPointCommandExecutor(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @Override
+    public CompletableFuture<UserPointResponse> submit(long userId, TransactionType type, long amount) {
+        try {
+            UserPointResponse response = type == TransactionType.CHARGE
+                    ? pointService.chargePoint(userId, amount)
+                    : pointService.usePoint(userId, amount);
+            return CompletableFuture.completedFuture(response);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 유저 한 명의 포인트 내역 (추가하거나, 오래된 앞부분을 체크포인트로 접을 수 있음)
+ * - 내역 객체 대신 항목별 원시 타입 배열(id, amount, type, updateMillis)에 저장하고, userId 는 세그먼트에 한번만 둠
+ * - PointHistory 는 조회할 때만 만들어서 반환
+ * - 추가할 때 충전/사용 집계도 함께 갱신 (내역을 다시 추가하면 집계도 다시 만들어짐)
+ * - 기록 시각은 거의 추가 순서대로 증가하므로, 앞선 내역보다 늦게 추가된 이른 시각의 최대 차이(maxLag)만 기억해 시간 범위 조회도 이진 탐색
+ * - 추가는 synchronized 로 직렬화
+ * - 조회는 size 를 먼저 읽고 그 개수만큼만 보므로 락 없이 가능
+ * - size 는 접힌 내역을 포함한 전체 개수(논리 위치)이고, 배열에는 base 위치부터의 내역만 남음 (Columns 와 체크포인트는 함께 교체)
+ */
+final class HistorySegment {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+    private volatile Columns columns;
+    private volatile int size;      // 체크포인트로 접힌 내역을 포함한 전체 내역 수
+    private volatile long maxLag;       // 추가된 내역 중 (그때까지의 최대 시각 - 기록 시각)의 최대값, size 보다 먼저 갱신
+    private long maxMillis = Long.MIN_VALUE;        // append 안에서만 사용
+    private final PointAggregate aggregate;
+
+    private final Object compactLock = new Object();       // 접기는 한번에 하나만
+
+    HistorySegment(long userId, ZoneId zone) {
+        this.userId = userId;
+        this.columns = new Columns(4, 0, PointHistoryCheckpoint.empty(userId));
+        this.aggregate = new PointAggregate(zone);
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    synchronized void append(long id, long amount, TransactionType type, long updateMillis) {
+        Columns current = columns;
+        int index = size - current.base;
+        if (index == current.ids.length) {
+            current = current.grow(index * 2);
+            columns = current;      // size 를 늘리기 전에 배열을 먼저 공개
+        }
+        current.set(index, id, amount, type, updateMillis);
+        if (updateMillis < maxMillis) {     // 원장 반영 순서와 추가 순서가 다른 동시 요청 (보통 수 ms 이내)
+            maxLag = Math.max(maxLag, maxMillis - updateMillis);
+        } else {
+            maxMillis = updateMillis;
+        }
+        size = size + 1;
+        aggregate.add(amount, type, updateMillis);
+    }
+
+    /**
+     * 저널 복구용 : 스냅샷에서 읽은 체크포인트로 비어 있는 세그먼트의 앞부분을 채움
+     * - 접힌 내역은 전체 집계에만 더함 (일별/월별 집계는 남은 내역으로만 다시 만들어지고, 접힌 마지막 날짜까지는 요약을 거절)
+     */
+    synchronized void restore(PointHistoryCheckpoint checkpoint) {
+        if (size != 0) {
+            throw new IllegalStateException("내역이 이미 있는 세그먼트에는 체크포인트를 복구할 수 없습니다.");
+        }
+        PointTotals totals = checkpoint.totals();
+        int folded = Math.toIntExact(totals.chargeCount() + totals.useCount());
+        columns = new Columns(4, folded, checkpoint);
+        maxMillis = checkpoint.lastMillis();
+        size = folded;
+        aggregate.restore(checkpoint);
+    }
+
+    PointSummary summary(LocalDate date) {
+        return aggregate.summary(userId, date);
+    }
+
+    // 접힌 내역을 포함한 전체 내역 수
+    int size() {
+        return size;
+    }
+
+    // 체크포인트로 접힌 내역
+    PointHistoryCheckpoint checkpoint() {
+        return columns.checkpoint;
+    }
+
+    // 체크포인트 이후 남아 있는 내역
+    List<PointHistory> toList() {
+        int n = size;
+        Columns snapshot = columns;
+        return List.of(snapshot.toArray(userId, 0, snapshot.length(n)));
+    }
+
+    // 내역으로 계산한 잔액 (체크포인트 + 남은 내역, 같은 시점의 배열과 체크포인트로 계산)
+    long balance() {
+        int n = size;
+        Columns snapshot = columns;
+        long balance = snapshot.checkpoint.netAmount();
+        for (int i = 0, length = snapshot.length(n); i < length; i++) {
+            balance += snapshot.types[i] == TransactionType.CHARGE.ordinal() ? snapshot.amounts[i] : -snapshot.amounts[i];
+        }
+        return balance;
+    }
+
+    /**
+     * 기록 시각이 horizonMillis 이전인 앞부분 내역을 체크포인트 하나로 접고 접은 개수를 반환
+     * - 앞선 내역보다 maxLag 이상 이른 내역은 없으므로 (horizonMillis - maxLag) 경계 앞은 모두 horizonMillis 이전
+     * - 집계와 남길 내역 복사는 락 없이 하고, 교체할 때만 락을 잡아 그 사이 추가된 내역을 옮김 (추가를 오래 막지 않음)
+     * - 교체 전에 읽기 시작한 조회는 이전 배열로 끝까지 읽음
+     * - horizonMillis 이전 날짜/월의 집계도 함께 제거
+     */
+    int compact(long horizonMillis) {
+        synchronized (compactLock) {
+            int n = size;
+            long lag = maxLag;
+            Columns snapshot = columns;
+            int length = snapshot.length(n);
+            int cut = indexFrom(snapshot.updateMillis, length, saturatedAdd(horizonMillis, -lag));
+            aggregate.prune(horizonMillis);
+            if (cut == 0) {
+                return 0;
+            }
+
+            PointHistoryCheckpoint checkpoint = snapshot.checkpoint;
+            PointTotals totals = checkpoint.totals();
+            long chargeAmount = totals.chargeAmount();
+            long chargeCount = totals.chargeCount();
+            long useAmount = totals.useAmount();
+            long useCount = totals.useCount();
+            long lastMillis = checkpoint.lastMillis();
+            for (int i = 0; i < cut; i++) {
+                if (snapshot.types[i] == TransactionType.CHARGE.ordinal()) {
+                    chargeAmount += snapshot.amounts[i];
+                    chargeCount++;
+                } else {
+                    useAmount += snapshot.amounts[i];
+                    useCount++;
+                }
+                lastMillis = Math.max(lastMillis, snapshot.updateMillis[i]);
+            }
+            PointHistoryCheckpoint folded = new PointHistoryCheckpoint(userId, snapshot.ids[cut - 1], lastMillis,
+                    new PointTotals(chargeAmount, chargeCount, useAmount, useCount));
+            Columns compacted = snapshot.tail(cut, length, Math.max(4, (length - cut) * 2), folded);
+
+            synchronized (this) {
+                Columns current = columns;      // 그 사이 배열이 늘어났을 수 있음 (base 는 그대로)
+                int end = size - current.base;
+                compacted = compacted.copyFrom(current, length, end);
+                columns = compacted;
+            }
+            return cut;
+        }
+    }
+
+    /**
+     * id 가 cursor 보다 큰 내역을 최대 limit 개 조회
+     * - 세그먼트 안의 id 는 추가 순서대로 증가하므로 이진 탐색으로 시작 위치를 찾음
+     * - 더 남은 내역이 있으면 다음 cursor(마지막 내역 id)를 함께 반환
+     */
+    PointHistoryPage page(long cursor, int limit) {
+        int size = this.size;
+        Columns snapshot = columns;
+        int n = snapshot.length(size);
+        int from = indexAfter(snapshot.ids, n, cursor);
+        int to = (int) Math.min(n, (long) from + limit);
+        List<PointHistory> histories = List.of(snapshot.toArray(userId, from, to));
+        Long nextCursor = to < n ? snapshot.ids[to - 1] : null;
+        return new PointHistoryPage(histories, nextCursor);
+    }
+
+    // 마지막 limit 개 내역 (체크포인트 이후 남은 내역 중에서)
+    List<PointHistory> latest(int limit) {
+        int size = this.size;
+        Columns snapshot = columns;
+        int n = snapshot.length(size);
+        return List.of(snapshot.toArray(userId, Math.max(0, n - limit), n));
+    }
+
+    /**
+     * 기록 시각이 [fromMillis, toMillis) 이고 id 가 cursor 보다 큰 내역을 최대 limit 개 조회
+     * - 어느 내역도 앞선 내역의 최대 시각보다 maxLag 이상 이르지 않으므로,
+     *   (fromMillis - maxLag), (toMillis + maxLag) 경계를 이진 탐색하면 그 밖에는 범위 안의 내역이 없음
+     * - 경계 사이만 시각을 확인하며 읽음 (순서가 뒤바뀐 내역이 없으면 maxLag 는 0 이고 경계 사이가 정확히 결과)
+     */
+    PointHistoryPage range(long fromMillis, long toMillis, long cursor, int limit) {
+        int size = this.size;
+        long lag = maxLag;
+        Columns snapshot = columns;
+        int n = snapshot.length(size);
+        long[] millis = snapshot.updateMillis;
+        int start = Math.max(indexAfter(snapshot.ids, n, cursor), indexFrom(millis, n, saturatedAdd(fromMillis, -lag)));
+        int end = indexFrom(millis, n, saturatedAdd(toMillis, lag));
+
+        List<PointHistory> histories = new ArrayList<>(Math.max(0, Math.min(limit, end - start)));
+        int i = start;
+        for (; i < end && histories.size() < limit; i++) {
+            if (millis[i] >= fromMillis && millis[i] < toMillis) {
+                histories.add(snapshot.get(userId, i));
+            }
+        }
+        Long nextCursor = null;
+        for (; i < end; i++) {      // 더 남은 내역이 있을 때만 다음 cursor 반환
+            if (millis[i] >= fromMillis && millis[i] < toMillis) {
+                nextCursor = histories.get(histories.size() - 1).id();
+                break;
+            }
+        }
+        return new PointHistoryPage(Collections.unmodifiableList(histories), nextCursor);
+    }
+
+    // 배열로 모으지 않고 순서대로 전달 (순회 시작 시점까지 추가된 내역만)
+    void forEach(Consumer<PointHistory> action) {
+        int size = this.size;
+        Columns snapshot = columns;
+        int n = snapshot.length(size);
+        for (int i = 0; i < n; i++) {
+            action.accept(snapshot.get(userId, i));
+        }
+    }
+
+    private static int indexAfter(long[] ids, int n, long cursor) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= cursor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * values[index] >= value 인 경계 위치 (values[index - 1] < value 이고 values[index] >= value, 정렬되어 있으면 첫 위치)
+     */
+    private static int indexFrom(long[] values, int n, long value) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long saturatedAdd(long value, long delta) {
+        long result = value + delta;
+        if (((value ^ result) & (delta ^ result)) < 0) {        // overflow
+            return delta > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return result;
+    }
+
+    /**
+     * 항목별 배열 (늘리거나 접을 때는 네 배열을 함께 교체)
+     * - base : 배열 0번 위치의 논리 위치 (앞쪽 base 개는 checkpoint 로 접힘)
+     */
+    private static final class Columns {
+        private final long[] ids;
+        private final long[] amounts;
+        private final byte[] types;
+        private final long[] updateMillis;
+        private final int base;
+        private final PointHistoryCheckpoint checkpoint;
+
+        private Columns(int capacity, int base, PointHistoryCheckpoint checkpoint) {
+            this(new long[capacity], new long[capacity], new byte[capacity], new long[capacity], base, checkpoint);
+        }
+
+        private Columns(long[] ids, long[] amounts, byte[] types, long[] updateMillis, int base, PointHistoryCheckpoint checkpoint) {
+            this.ids = ids;
+            this.amounts = amounts;
+            this.types = types;
+            this.updateMillis = updateMillis;
+            this.base = base;
+            this.checkpoint = checkpoint;
+        }
+
+        // 전체 내역 수 size 중 이 배열에서 읽을 수 있는 개수 (size 를 읽은 뒤 접혔으면 그만큼 줄어듦)
+        private int length(int size) {
+            return Math.max(0, size - base);
+        }
+
+        private void set(int index, long id, long amount, TransactionType type, long millis) {
+            ids[index] = id;
+            amounts[index] = amount;
+            types[index] = (byte) type.ordinal();
+            updateMillis[index] = millis;
+        }
+
+        private Columns grow(int capacity) {
+            return new Columns(Arrays.copyOf(ids, capacity), Arrays.copyOf(amounts, capacity),
+                    Arrays.copyOf(types, capacity), Arrays.copyOf(updateMillis, capacity), base, checkpoint);
+        }
+
+        // [from, to) 만 남기고 앞부분은 checkpoint 로 접은 배열
+        private Columns tail(int from, int to, int capacity, PointHistoryCheckpoint checkpoint) {
+            Columns tail = new Columns(capacity, base + from, checkpoint);
+            System.arraycopy(ids, from, tail.ids, 0, to - from);
+            System.arraycopy(amounts, from, tail.amounts, 0, to - from);
+            System.arraycopy(types, from, tail.types, 0, to - from);
+            System.arraycopy(updateMillis, from, tail.updateMillis, 0, to - from);
+            return tail;
+        }
+
+        // source 의 [from, to) (source 기준 위치)를 이어 붙임 (모자라면 늘린 배열을 반환)
+        private Columns copyFrom(Columns source, int from, int to) {
+            int offset = source.base - base;        // source 위치 -> 이 배열 위치
+            Columns target = to + offset > ids.length ? grow(Math.max(ids.length * 2, to + offset)) : this;
+            System.arraycopy(source.ids, from, target.ids, from + offset, to - from);
+            System.arraycopy(source.amounts, from, target.amounts, from + offset, to - from);
+            System.arraycopy(source.types, from, target.types, from + offset, to - from);
+            System.arraycopy(source.updateMillis, from, target.updateMillis, from + offset, to - from);
+            return target;
+        }
+
+        private PointHistory get(long userId, int index) {
+            return new PointHistory(ids[index], userId, amounts[index], TYPES[types[index]], updateMillis[index]);
+        }
+
+        private PointHistory[] toArray(long userId, int from, int to) {
+            PointHistory[] histories = new PointHistory[to - from];
+            for (int i = from; i < to; i++) {
+                histories[i - from] = get(userId, i);
+            }
+            return histories;
+        }
+    }
+}
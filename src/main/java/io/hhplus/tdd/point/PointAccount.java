@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 계정 화면 조회 결과
+ * - point 와 histories 는 같은 시점 기준 (point 에 반영된 충전/사용까지의 최근 내역)
+ */
+public record PointAccount(
+        UserPoint point,
+        List<PointHistory> histories
+) {
+}
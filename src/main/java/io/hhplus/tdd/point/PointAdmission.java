@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 충전/사용 요청 수 제한 (admission control)
+ * - 처리 중이거나 대기 중인 요청 수를 유저별, 전체로 세고 한도를 넘으면 기다리지 않고 바로 거절 (429)
+ * - 원장 등록시 유저 락은 lockTimeoutMillis 까지만 기다림
+ * - 거절 수는 point.admission.rejections 지표로 기록 (scope=user|global|lock)
+ */
+@Component
+public class PointAdmission {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final int maxPendingPerUser;
+    private final int maxPendingTotal;
+    private final long lockTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingTotal = new AtomicInteger();
+
+    @Autowired
+    public PointAdmission(@Value("${point.admission.max-pending-per-user:64}") int maxPendingPerUser,
+                          @Value("${point.admission.max-pending-total:10000}") int maxPendingTotal,
+                          @Value("${point.admission.lock-timeout-ms:500}") long lockTimeoutMillis,
+                          @Value("${point.admission.retry-after-seconds:1}") long retryAfterSeconds,
+                          PointMetrics pointMetrics) {
+        if (maxPendingPerUser < 1 || maxPendingTotal < 1) {
+            throw new IllegalArgumentException("요청 한도는 1 이상이어야 합니다.");
+        }
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.maxPendingTotal = maxPendingTotal;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.pointMetrics = pointMetrics;
+        pointMetrics.registry().gauge("point.admission.pending", pendingTotal);
+    }
+
+    // 제한 없음 (단위 테스트, 벤치마크 등)
+    public static PointAdmission unlimited(PointMetrics pointMetrics) {
+        return new PointAdmission(UNLIMITED, UNLIMITED, Long.MAX_VALUE, 1, pointMetrics);
+    }
+
+    /**
+     * 요청 하나를 받음 (처리가 끝나면 Permit 을 닫아야 함)
+     * - 유저별 또는 전체 한도를 넘으면 TooManyRequestsException
+     */
+    public Permit acquire(long userId) {
+        if (pendingTotal.incrementAndGet() > maxPendingTotal) {
+            pendingTotal.decrementAndGet();
+            throw reject(Scope.GLOBAL);
+        }
+        boolean[] admitted = {true};
+        pendingByUser.compute(userId, (id, pending) -> {
+            if (pending == null) {
+                pending = new AtomicInteger();
+            }
+            if (pending.get() >= maxPendingPerUser) {
+                admitted[0] = false;
+            } else {
+                pending.incrementAndGet();
+            }
+            return pending.get() == 0 ? null : pending;
+        });
+        if (!admitted[0]) {
+            pendingTotal.decrementAndGet();
+            throw reject(Scope.USER);
+        }
+        return new Permit(userId);
+    }
+
+    // 유저 락 대기 시간 초과로 거절
+    TooManyRequestsException lockTimeout() {
+        return reject(Scope.LOCK);
+    }
+
+    long lockTimeoutMillis() {
+        return lockTimeoutMillis;
+    }
+
+    // 처리 중이거나 대기 중인 전체 요청 수
+    public int pending() {
+        return pendingTotal.get();
+    }
+
+    // 처리 중이거나 대기 중인 유저의 요청 수
+    public int pending(long userId) {
+        AtomicInteger pending = pendingByUser.get(userId);
+        return pending != null ? pending.get() : 0;
+    }
+
+    private TooManyRequestsException reject(Scope scope) {
+        pointMetrics.countAdmissionRejection(scope);
+        return new TooManyRequestsException("요청이 많습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    private void release(long userId) {
+        pendingByUser.computeIfPresent(userId, (id, pending) -> pending.decrementAndGet() == 0 ? null : pending);
+        pendingTotal.decrementAndGet();
+    }
+
+    // 거절 사유
+    public enum Scope {
+        USER, GLOBAL, LOCK
+    }
+
+    // 받은 요청 (한번만 해제됨)
+    public class Permit implements AutoCloseable {
+        private final long userId;
+        private boolean released;
+
+        private Permit(long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(userId);
+            }
+        }
+    }
+}
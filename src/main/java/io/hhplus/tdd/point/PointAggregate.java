@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 유저 한 명의 충전/사용 누적 집계 (전체, 일별, 월별)
+ * - 내역이 추가될 때마다 갱신하므로 조회는 내역 수와 상관없이 O(1)
+ * - 날짜는 내역의 updateMillis 를 설정한 시간대(point.summary.zone)로 변환해서 구분
+ * - 보관 기간이 지나 체크포인트로 접힌 날짜/월의 집계는 prune 으로 제거 (전체 집계에는 남음)
+ * - 일별 집계가 제거되었거나 접힌 내역이 빠져 불완전한 날짜는 0 으로 응답하지 않고 IllegalArgumentException (400)
+ * - 월별 집계만 불완전하면 (저널 복구로 그 달 일부가 접혀 있음) monthly 를 null 로 응답
+ */
+final class PointAggregate {
+
+    static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final int CHARGE_AMOUNT = 0;
+    private static final int CHARGE_COUNT = 1;
+    private static final int USE_AMOUNT = 2;
+    private static final int USE_COUNT = 3;
+
+    private final long[] total = new long[4];
+    private final Map<Long, long[]> daily = new HashMap<>();       // epochDay -> 합계
+    private final Map<Long, long[]> monthly = new HashMap<>();     // epochMonth -> 합계
+    private final ZoneId zone;
+    private long firstDay = Long.MIN_VALUE;     // 일별 집계가 온전히 남아 있는 첫 날짜 (epochDay)
+    private long firstMonth = Long.MIN_VALUE;   // 월별 집계가 온전히 남아 있는 첫 월 (epochMonth)
+
+    PointAggregate(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    synchronized void add(long amount, TransactionType type, long updateMillis) {
+        LocalDate date = Instant.ofEpochMilli(updateMillis).atZone(zone).toLocalDate();
+        add(total, amount, type);
+        add(daily.computeIfAbsent(date.toEpochDay(), key -> new long[4]), amount, type);
+        add(monthly.computeIfAbsent(epochMonth(YearMonth.from(date)), key -> new long[4]), amount, type);
+    }
+
+    // 체크포인트로 접힌 합계 (각 내역의 기록 시각을 알 수 없으므로 전체 집계에만 더하고, 마지막 기록 날짜와 그 달은 불완전으로 표시)
+    synchronized void restore(PointHistoryCheckpoint checkpoint) {
+        PointTotals totals = checkpoint.totals();
+        LocalDate last = Instant.ofEpochMilli(checkpoint.lastMillis()).atZone(zone).toLocalDate();
+        firstDay = Math.max(firstDay, last.toEpochDay() + 1);
+        firstMonth = Math.max(firstMonth, epochMonth(YearMonth.from(last)) + 1);
+        total[CHARGE_AMOUNT] += totals.chargeAmount();
+        total[CHARGE_COUNT] += totals.chargeCount();
+        total[USE_AMOUNT] += totals.useAmount();
+        total[USE_COUNT] += totals.useCount();
+    }
+
+    // horizonMillis 가 속한 날짜와 월보다 이전의 일별/월별 집계를 제거
+    synchronized void prune(long horizonMillis) {
+        LocalDate date = Instant.ofEpochMilli(horizonMillis).atZone(zone).toLocalDate();
+        long epochDay = date.toEpochDay();
+        long epochMonth = epochMonth(YearMonth.from(date));
+        daily.keySet().removeIf(day -> day < epochDay);
+        monthly.keySet().removeIf(month -> month < epochMonth);
+        firstDay = Math.max(firstDay, epochDay);
+        firstMonth = Math.max(firstMonth, epochMonth);
+    }
+
+    // date 의 일별 집계가 제거되었거나 불완전하면 IllegalArgumentException, 월별 집계만 불완전하면 monthly 는 null
+    synchronized PointSummary summary(long userId, LocalDate date) {
+        if (date.toEpochDay() < firstDay) {
+            throw new IllegalArgumentException("보관 기간이 지나 요약할 수 없는 날짜입니다. : " + date);
+        }
+        YearMonth month = YearMonth.from(date);
+        long epochMonth = epochMonth(month);
+        return new PointSummary(userId, totals(total), date, totals(daily.get(date.toEpochDay())),
+                month, epochMonth < firstMonth ? null : totals(monthly.get(epochMonth)));
+    }
+
+    private static void add(long[] bucket, long amount, TransactionType type) {
+        if (type == TransactionType.CHARGE) {
+            bucket[CHARGE_AMOUNT] += amount;
+            bucket[CHARGE_COUNT]++;
+        } else {
+            bucket[USE_AMOUNT] += amount;
+            bucket[USE_COUNT]++;
+        }
+    }
+
+    private static PointTotals totals(long[] bucket) {
+        if (bucket == null) {
+            return PointTotals.EMPTY;
+        }
+        return new PointTotals(bucket[CHARGE_AMOUNT], bucket[CHARGE_COUNT], bucket[USE_AMOUNT], bucket[USE_COUNT]);
+    }
+
+    private static long epochMonth(YearMonth month) {
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+}
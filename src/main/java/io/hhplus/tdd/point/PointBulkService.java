@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 포인트 일괄 충전/사용
+ * - 요청을 유저별로 나누고, 유저별 묶음을 동시 실행 수가 제한된 executor 에서 병렬로 처리 (PointExecutorConfig)
+ * - 같은 유저의 요청은 한 묶음 안에서 요청 순서대로 처리
+ * - 잔액 부족 등 실패는 해당 건만 실패로 기록하고 나머지는 계속 처리
+ */
+@Service
+public class PointBulkService {
+
+    private final PointService pointService;
+    private final int maxOperations;
+    private final Executor executor;
+
+    public PointBulkService(PointService pointService,
+                            @Qualifier(PointExecutorConfig.BULK_EXECUTOR) Executor executor,
+                            @Value("${point.bulk.max-operations:10000}") int maxOperations) {
+        this.pointService = pointService;
+        this.executor = executor;
+        this.maxOperations = maxOperations;
+    }
+
+    // 일괄 처리 (결과는 요청 순서와 같은 순서로 반환)
+    public List<PointOperationResult> execute(List<PointOperation> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("한번에 처리할 수 있는 요청은 " + maxOperations + "건 입니다.");
+        }
+        Map<Long, List<Integer>> partitions = new LinkedHashMap<>();       // 유저 id -> 요청 위치
+        for (int i = 0; i < operations.size(); i++) {
+            partitions.computeIfAbsent(operations.get(i).userId(), key -> new ArrayList<>()).add(i);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        CompletableFuture<?>[] futures = partitions.values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> {
+                    for (int index : indexes) {
+                        results[index] = apply(operations.get(index));
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        return Arrays.asList(results);
+    }
+
+    private PointOperationResult apply(PointOperation operation) {
+        if (operation.type() == null) {
+            return PointOperationResult.failure(operation, "거래 종류가 없습니다.");
+        }
+        try {
+            UserPointResponse response = operation.type() == TransactionType.CHARGE
+                    ? pointService.chargePoint(operation.userId(), operation.amount())
+                    : pointService.usePoint(operation.userId(), operation.amount());
+            return PointOperationResult.success(operation, response.getUserPoint());
+        } catch (PointNotEnoughException e) {
+            return PointOperationResult.failure(operation, e.getMessage());
+        } catch (Exception e) {
+            return PointOperationResult.failure(operation, "에러가 발생했습니다.");
+        }
+    }
+}
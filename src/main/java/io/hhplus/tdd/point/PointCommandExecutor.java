@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 충전/사용 명령 실행 방식 (point.engine.mode)
+ * - async   : 전용 executor 에서 실행하고 요청 스레드는 바로 반환 (AsyncPointCommandExecutor, 기본값)
+ * - direct  : 요청 스레드에서 바로 실행 (DirectPointCommandExecutor)
+ * - sharded : 유저별 샤드의 전용 스레드에서 실행 (ShardedPointCommandEngine)
+ */
+public interface PointCommandExecutor {
+
+    CompletableFuture<UserPointResponse> submit(long userId, TransactionType type, long amount);
+}
@@ -1,21 +1,45 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_FLUSH_SIZE = 100;      // 스트리밍시 이 개수마다 flush
 
     @Autowired
     private PointService pointService;
 
+    @Autowired
+    private PointBulkService pointBulkService;
+
+    @Autowired
+    private PointCommandExecutor pointCommandExecutor;
+
+    @Autowired
+    private PointIdempotencyCache pointIdempotencyCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
@@ -27,6 +51,18 @@ public class PointController {
         return userPoint;
     }
 
+    /**
+     * 특정 유저의 포인트와 최근 충전/이용 내역을 같은 시점 기준으로 한번에 조회
+     * - limit : 최근 내역 개수 (기본 20)
+     */
+    @GetMapping("/{id}/account")
+    public PointAccount account(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return pointService.findAccountById(id, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
@@ -38,28 +74,138 @@ public class PointController {
         return historyList;
     }
 
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 cursor 기반으로 나눠서 조회
+     * - cursor : 이전 페이지의 nextCursor (처음이면 생략)
+     */
+    @GetMapping(value = "/{id}/histories", params = "limit")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam int limit
+    ) {
+        return pointService.findHistoryPageById(id, cursor, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 중 기록 시각(updateMillis)이 from 이상 to 미만인 내역을 조회
+     * - from, to : epoch millis, cursor/limit 은 cursor 페이지 조회와 같음
+     */
+    @GetMapping(value = "/{id}/histories", params = {"from", "to"})
+    public PointHistoryPage historyRange(
+            @PathVariable long id,
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return pointService.findHistoryRangeById(id, from, to, cursor, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 보관 기간(point.history.retention)이 지나 하나로 접힌 내역의 합계와 건수
+     * - 내역 조회 api 는 접힌 이후의 내역만 반환
+     */
+    @GetMapping("/{id}/histories/checkpoint")
+    public PointHistoryCheckpoint historyCheckpoint(
+            @PathVariable long id
+    ) {
+        return pointService.findHistoryCheckpointById(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 NDJSON 으로 스트리밍 (Accept: application/x-ndjson)
+     * - 전체 내역을 리스트로 만들지 않고 한 건씩 직렬화해서 바로 전송
+     */
+    @GetMapping(value = "/{id}/histories", produces = APPLICATION_NDJSON)
+    public StreamingResponseBody historyStream(
+            @PathVariable long id
+    ) {
+        return out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                int[] written = {0};
+                pointService.forEachHistoryById(id, history -> {
+                    try {
+                        writer.write(history);
+                        if (++written[0] % STREAM_FLUSH_SIZE == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * 특정 유저의 충전/사용 합계와 건수 (전체, date 가 속한 일/월)
+     * - date : yyyy-MM-dd (생략하면 오늘)
+     */
+    @GetMapping("/{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return pointService.findSummaryById(id, date);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - 명령 실행기(point.engine.mode)에 제출하고 결과가 나오면 응답
+     * - Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청은 처리하지 않고 처음 결과로 응답
      */
     @PatchMapping("/{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-
-        UserPointResponse response = pointService.chargePoint(id, amount);
-        return response.getUserPoint();
+        return submit(id, TransactionType.CHARGE, amount, idempotencyKey).thenApply(UserPointResponse::getUserPoint);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - 명령 실행기(point.engine.mode)에 제출하고 결과가 나오면 응답
+     * - Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청은 처리하지 않고 처음 결과로 응답
      */
     @PatchMapping("/{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return submit(id, TransactionType.USE, amount, idempotencyKey).thenApply(UserPointResponse::getUserPoint);
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체
+     * - 보내는 유저의 잔액이 부족하면 두 유저 모두 변경되지 않음
+     */
+    @PostMapping("/transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransfer transfer
     ) throws Exception {
-        UserPointResponse response = pointService.usePoint(id, amount);
-        return response.getUserPoint();
+        return pointService.transferPoint(transfer.fromUserId(), transfer.toUserId(), transfer.amount());
+    }
+
+    /**
+     * 여러 유저의 포인트를 한번에 충전/사용
+     * - 건별 결과를 요청 순서대로 반환 (잔액 부족은 해당 건만 실패)
+     */
+    @PostMapping("/bulk")
+    public List<PointOperationResult> bulk(
+            @RequestBody List<PointOperation> operations
+    ) {
+        return pointBulkService.execute(operations);
+    }
+
+    // 멱등성 키가 없으면 바로 제출, 있으면 키별로 한번만 제출
+    private CompletableFuture<UserPointResponse> submit(long id, TransactionType type, long amount, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return pointCommandExecutor.submit(id, type, amount);
+        }
+        return pointIdempotencyCache.execute(id, idempotencyKey, type, amount,
+                () -> pointCommandExecutor.submit(id, type, amount));
     }
 }
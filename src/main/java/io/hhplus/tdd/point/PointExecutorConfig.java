@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 포인트 패키지 내부 executor 설정
+ * - spring.threads.virtual.enabled=true 이고 Java 21 이상이면 가상 스레드로 실행 (웹 요청 처리와 같은 스위치)
+ * - Java 17 에서는 설정해도 플랫폼 스레드로 실행하고 시작할 때 경고를 남김
+ * - 가상 스레드는 요청마다 새로 만들고 동시 실행 수만 제한, 아니면 고정 크기 스레드 풀 사용
+ * - 충전/사용 명령 실행 방식은 point.engine.mode 로 선택 (async | direct | sharded)
+ */
+@Configuration
+public class PointExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExecutorConfig.class);
+
+    public static final String BULK_EXECUTOR = "pointBulkExecutor";
+    public static final String ASYNC_EXECUTOR = "pointAsyncExecutor";
+
+    @Bean(BULK_EXECUTOR)
+    public AsyncTaskExecutor pointBulkExecutor(Environment environment,
+                                               @Value("${point.bulk.parallelism:8}") int parallelism) {
+        return create(environment, "point-bulk-", parallelism);
+    }
+
+    /**
+     * 충전/사용 API 전용 executor
+     * - 대기열이 가득 차면 요청 스레드에서 실행하지 않고 거절 (요청 스레드를 붙잡지 않도록)
+     * - 가상 스레드 모드에서는 동시 실행 수를 넘으면 대기
+     */
+    @Bean(ASYNC_EXECUTOR)
+    public AsyncTaskExecutor pointAsyncExecutor(Environment environment,
+                                                @Value("${point.async.parallelism:32}") int parallelism,
+                                                @Value("${point.async.queue-capacity:1000}") int queueCapacity) {
+        return create(environment, "point-async-", parallelism, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public PointCommandExecutor pointCommandExecutor(PointService pointService,
+                                                     @Qualifier(ASYNC_EXECUTOR) Executor asyncExecutor,
+                                                     @Value("${point.engine.mode:async}") String mode,
+                                                     @Value("${point.engine.shards:0}") int shards,
+                                                     @Value("${point.engine.queue-capacity:1024}") int queueCapacity) {
+        return switch (mode) {
+            case "sharded" -> new ShardedPointCommandEngine(pointService,
+                    shards > 0 ? shards : Runtime.getRuntime().availableProcessors(), queueCapacity);
+            case "direct" -> new DirectPointCommandExecutor(pointService);
+            default -> new AsyncPointCommandExecutor(pointService, asyncExecutor);
+        };
+    }
+
+    static AsyncTaskExecutor create(Environment environment, String threadNamePrefix, int parallelism) {
+        return create(environment, threadNamePrefix, parallelism, parallelism * 16,
+                new ThreadPoolExecutor.CallerRunsPolicy());     // 큐가 가득 차면 요청 스레드에서 처리
+    }
+
+    static AsyncTaskExecutor create(Environment environment, String threadNamePrefix, int parallelism,
+                                    int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("가상 스레드는 Java 21 이상에서만 사용할 수 있어 {} 를 플랫폼 스레드로 실행합니다. (현재 Java {})",
+                    threadNamePrefix, Runtime.version().feature());
+        }
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        return executor;
+    }
+}
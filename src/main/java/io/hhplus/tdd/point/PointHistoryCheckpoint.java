@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 보관 기간이 지나 하나로 접힌 포인트 내역
+ * - lastId, lastMillis : 접힌 내역 중 마지막 id 와 가장 늦은 기록 시각 (접힌 내역이 없으면 0)
+ * - totals : 접힌 내역의 충전/사용 합계와 건수
+ */
+public record PointHistoryCheckpoint(
+        long userId,
+        long lastId,
+        long lastMillis,
+        PointTotals totals
+) {
+
+    public static PointHistoryCheckpoint empty(long userId) {
+        return new PointHistoryCheckpoint(userId, 0, 0, PointTotals.EMPTY);
+    }
+
+    // 접힌 내역이 잔액에 더한 값 (충전 - 사용)
+    public long netAmount() {
+        return totals.chargeAmount() - totals.useAmount();
+    }
+}
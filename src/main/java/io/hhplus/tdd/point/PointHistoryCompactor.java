@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 보관 기간 관리
+ * - interval 마다 기록 시각이 retention 보다 오래된 내역을 유저별 체크포인트로 접음 (최근 내역은 그대로)
+ * - 전용 스레드에서 유저 한 명씩 처리하므로 충전/사용은 배열을 교체하는 짧은 순간만 기다림
+ * - 접은 내역 수는 point.history.compacted 지표로 기록
+ * - PointHistoryTable 은 변경할 수 없으므로 저장소(PointHistoryRepository)의 내역만 접음
+ */
+@Component
+public class PointHistoryCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryCompactor.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final Duration retention;
+    private final Clock clock;
+    private final Counter compactedCounter;
+    private ScheduledExecutorService scheduler;       // 스케줄 없이 만들면 null
+
+    @Autowired
+    public PointHistoryCompactor(PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                                 @Value("${point.history.retention:30d}") Duration retention,
+                                 @Value("${point.history.compaction-interval:10m}") Duration interval) {
+        this(pointHistoryRepository, pointMetrics, retention, Clock.systemUTC());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-history-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledCompact, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 스케줄 없이 compact() 를 직접 호출할 때 사용 (테스트 등)
+    public PointHistoryCompactor(PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics, Duration retention, Clock clock) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.retention = retention;
+        this.clock = clock;
+        this.compactedCounter = Counter.builder("point.history.compacted")
+                .description("체크포인트로 접은 포인트 내역 수")
+                .register(pointMetrics.registry());
+    }
+
+    // 보관 기간이 지난 내역을 접고 접은 수를 반환
+    public long compact() {
+        long horizonMillis = clock.millis() - retention.toMillis();
+        long compacted = pointHistoryRepository.compact(horizonMillis);
+        compactedCounter.increment(compacted);
+        return compacted;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void scheduledCompact() {
+        try {
+            long start = System.nanoTime();
+            long compacted = compact();
+            if (compacted > 0) {
+                log.info("포인트 내역 접기 완료 : {} 건, {} ms", compacted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 접기 실패", e);
+        }
+    }
+}
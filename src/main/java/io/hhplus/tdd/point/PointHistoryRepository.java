@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역 저장소
+ * - 내역 id 는 저장소에서 발급하고, 유저별 인덱스에 바로 추가한 뒤 반환
+ * - PointHistoryTable 저장은 PointHistoryWriter 가 요청 스레드 밖에서 처리 (write-behind, 밀린 내역이 max-lag 안에 저장할 수 있는 양을 넘으면 503)
+ * - 조회는 유저별 인덱스에서 처리해 전체 내역이 아닌 해당 유저의 내역 수만큼만 비용이 듦
+ * - 인덱스는 내역을 원시 타입 배열로 보관하고, PointHistory 는 반환할 때만 만듦
+ * - 보관 기간이 지난 내역은 유저별 체크포인트 하나로 접어서 메모리와 조회 비용이 계속 늘지 않도록 함 (PointHistoryCompactor)
+ */
+@Component
+public class PointHistoryRepository {
+
+    private static final int QUEUE_CAPACITY = 10_000;      // 대기열 최대 크기 (실제 크기는 저장 속도로 정함)
+    private static final Duration MAX_LAG = Duration.ofSeconds(30);
+    private static final int BATCH_SIZE = 100;
+
+    private final UserHistoryIndex index;
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final PointHistoryWriter writer;
+    private final ZoneId zone;
+
+    @Autowired
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics,
+                                  @Value("${point.history.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${point.history.max-lag:30s}") Duration maxLag,
+                                  @Value("${point.summary.zone:Asia/Seoul}") ZoneId zone) {
+        this.writer = new PointHistoryWriter(pointHistoryTable, pointMetrics, queueCapacity, BATCH_SIZE, maxLag);
+        this.index = new UserHistoryIndex(zone);
+        this.zone = zone;
+    }
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics, int queueCapacity, ZoneId zone) {
+        this(pointHistoryTable, pointMetrics, queueCapacity, MAX_LAG, zone);
+    }
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics, int queueCapacity) {
+        this(pointHistoryTable, pointMetrics, queueCapacity, PointAggregate.DEFAULT_ZONE);
+    }
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics) {
+        this(pointHistoryTable, pointMetrics, QUEUE_CAPACITY);
+    }
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable) {
+        this(pointHistoryTable, new PointMetrics());
+    }
+
+    // 내역 저장 (reserve, append, write 를 한번에)
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        reserve(1);
+        PointHistory history = append(userId, amount, type, updateMillis);
+        write(history);
+        return history;
+    }
+
+    /**
+     * 테이블 저장 대기열에 내역 count 건의 자리를 확보
+     * - 잔액을 바꾸기 전에 호출해서, 대기열이 가득 차면 아무것도 바꾸지 않고 RejectedExecutionException (503)
+     * - 확보한 뒤 내역을 추가하지 않게 되면 cancel 로 반환
+     */
+    public void reserve(int count) {
+        writer.reserve(count);
+    }
+
+    public void cancel(int count) {
+        writer.cancel(count);
+    }
+
+    /**
+     * 내역 id 를 발급해서 유저별 인덱스에 추가 (조회에 바로 반영, 테이블 저장은 write 로)
+     * - 같은 유저의 id 발급과 인덱스 추가를 세그먼트 락 안에서 처리해서 유저별 id 순서와 조회 순서가 같음
+     */
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        HistorySegment segment = index.findOrCreate(userId);
+        synchronized (segment) {
+            PointHistory history = new PointHistory(sequence.getAndIncrement(), userId, amount, type, updateMillis);
+            segment.append(history.id(), amount, type, updateMillis);
+            return history;
+        }
+    }
+
+    // 확보한 자리로 테이블 저장 대기열에 추가 (락 밖에서 호출, 기다리지 않음)
+    public void write(PointHistory history) {
+        writer.enqueue(history);
+    }
+
+    // 저널 복구용 : 이미 발급된 id 그대로 인덱스에만 추가하고, 이후 발급할 id 는 그 다음부터
+    public void restore(PointHistory history) {
+        index.findOrCreate(history.userId()).append(history.id(), history.amount(), history.type(), history.updateMillis());
+        sequence.accumulateAndGet(history.id() + 1, Math::max);
+    }
+
+    // 저널 복구용 : 스냅샷에 접혀 있던 내역의 체크포인트 (남은 내역보다 먼저 복구)
+    public void restore(PointHistoryCheckpoint checkpoint) {
+        if (checkpoint.totals().equals(PointTotals.EMPTY)) {
+            return;
+        }
+        index.findOrCreate(checkpoint.userId()).restore(checkpoint);
+        sequence.accumulateAndGet(checkpoint.lastId() + 1, Math::max);
+    }
+
+    // 유저별 내역 조회 (테이블 저장 전이라도 저장소에 추가된 내역은 바로 조회됨, 체크포인트로 접힌 내역은 제외)
+    public List<PointHistory> selectAllByUserId(long userId) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? List.of() : segment.toList();
+    }
+
+    // 유저별 내역 페이지 조회 (id 가 cursor 보다 큰 내역부터 limit 개)
+    public PointHistoryPage selectPageByUserId(long userId, long cursor, int limit) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? new PointHistoryPage(List.of(), null) : segment.page(cursor, limit);
+    }
+
+    // 유저별 최근 내역 limit 개 조회 (오래된 것부터)
+    public List<PointHistory> selectLatestByUserId(long userId, int limit) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? List.of() : segment.latest(limit);
+    }
+
+    // 유저별 기간 조회 (기록 시각이 [fromMillis, toMillis) 인 내역을 id 가 cursor 보다 큰 것부터 limit 개)
+    public PointHistoryPage selectRangeByUserId(long userId, long fromMillis, long toMillis, long cursor, int limit) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? new PointHistoryPage(List.of(), null) : segment.range(fromMillis, toMillis, cursor, limit);
+    }
+
+    // 유저별 체크포인트 조회 (접힌 내역이 없으면 빈 체크포인트)
+    public PointHistoryCheckpoint checkpointByUserId(long userId) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? PointHistoryCheckpoint.empty(userId) : segment.checkpoint();
+    }
+
+    // 유저별 내역으로 계산한 잔액 (체크포인트 + 남은 내역)
+    public long balanceByUserId(long userId) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? 0 : segment.balance();
+    }
+
+    /**
+     * 모든 유저의 기록 시각이 horizonMillis 이전인 내역을 체크포인트로 접고 접은 내역 수를 반환
+     * - 유저 한 명씩 처리하고, 내역 추가는 배열을 교체하는 동안만 기다림
+     */
+    public long compact(long horizonMillis) {
+        long[] compacted = {0};
+        index.forEach(segment -> compacted[0] += segment.compact(horizonMillis));
+        return compacted[0];
+    }
+
+    // 일별/월별 집계의 날짜 기준 시간대
+    public ZoneId zone() {
+        return zone;
+    }
+
+    // 유저별 충전/사용 집계 조회 (내역을 다시 읽지 않음)
+    public PointSummary summaryByUserId(long userId, LocalDate date) {
+        HistorySegment segment = index.find(userId);
+        return segment == null ? PointSummary.empty(userId, date) : segment.summary(date);
+    }
+
+    // 유저별 내역을 복사 없이 순서대로 순회
+    public void forEachByUserId(long userId, Consumer<PointHistory> action) {
+        HistorySegment segment = index.find(userId);
+        if (segment != null) {
+            segment.forEach(action);
+        }
+    }
+
+    // 테이블에 아직 저장되지 않은 내역을 모두 저장할 때까지 대기
+    public void flush() throws InterruptedException {
+        writer.flush();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.close();
+    }
+}
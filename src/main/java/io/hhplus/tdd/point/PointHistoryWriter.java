@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 write-behind
+ * - 요청 스레드는 큐에 넣기만 하고, 전용 스레드 하나가 꺼내서 PointHistoryTable 에 저장
+ * - 스레드가 하나이므로 테이블 접근이 직렬화되고, 한번에 꺼낸 내역은 id 순서로 저장
+ * - 요청 스레드는 기다리지 않음 : 원장 반영 전에 reserve 로 자리를 확보하고, 가득 차면 RejectedExecutionException (503)
+ * - PointHistoryTable 은 동기화되지 않은 ArrayList 라 동시에 insert 할 수 없고 일괄 저장 API 도 없어서, 저장 속도는 테이블 insert 시간으로 정해짐
+ * - 그래서 대기열 크기는 고정하지 않고 측정한 저장 속도(건/초) x max-lag 로 정함 : 밀린 내역을 max-lag 안에 저장할 수 있을 만큼만 받음
+ *   (한 배치 이상, capacity 이하, 측정 전에는 capacity)
+ */
+class PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final Comparator<PointHistory> BY_ID = Comparator.comparingLong(PointHistory::id);
+    private static final double RATE_WEIGHT = 0.2;      // 저장 속도 이동 평균에서 최근 배치의 비중
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+    private final BlockingQueue<PointHistory> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger reserved = new AtomicInteger();     // 확보했지만 아직 저장하지 않은 자리 (큐 크기 제한)
+    private final int capacity;         // 대기열 최대 크기
+    private final int minCapacity;      // 저장 속도가 느려도 받는 최소 크기 (한 배치)
+    private final double maxLagSeconds;
+    private final int batchSize;
+    private volatile double drainRate;      // 측정한 저장 속도 (건/초, 0 이면 아직 측정 전, writer 스레드만 변경)
+    private final Thread thread;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private long enqueued;      // flushLock 안에서만 변경
+    private long written;       // flushLock 안에서만 변경
+    private volatile boolean running = true;
+
+    PointHistoryWriter(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics, int capacity, int batchSize, Duration maxLag) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointMetrics = pointMetrics;
+        this.capacity = capacity;
+        this.minCapacity = Math.min(batchSize, capacity);
+        this.maxLagSeconds = maxLag.toNanos() / 1e9;
+        this.batchSize = batchSize;
+        Gauge.builder("point.history.drain.rate", this, writer -> writer.drainRate)
+                .description("측정한 포인트 내역 테이블 저장 속도 (건/초)")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.history.queue.limit", this, PointHistoryWriter::limit)
+                .description("저장 속도로 정한 내역 저장 대기열 크기")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.history.queue.reserved", reserved, AtomicInteger::get)
+                .description("저장 대기 중인 내역 수")
+                .register(pointMetrics.registry());
+        this.thread = new Thread(this::run, "point-history-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // 내역 count 건을 넣을 자리를 확보 (종료되었으면 IllegalStateException, 가득 찼으면 RejectedExecutionException)
+    void reserve(int count) {
+        if (!running) {
+            throw new IllegalStateException("포인트 내역 저장이 종료되었습니다.");
+        }
+        int limit = limit();
+        for (;;) {
+            int current = reserved.get();
+            if (current + count > limit) {
+                throw new RejectedExecutionException("포인트 내역 저장 대기열이 가득 찼습니다.");
+            }
+            if (reserved.compareAndSet(current, current + count)) {
+                return;
+            }
+        }
+    }
+
+    // 지금 받을 수 있는 대기열 크기 : 저장 속도 x max-lag (한 배치 ~ capacity)
+    int limit() {
+        double rate = drainRate;
+        if (rate == 0) {
+            return capacity;
+        }
+        return (int) Math.max(minCapacity, Math.min(capacity, rate * maxLagSeconds));
+    }
+
+    // 확보한 자리를 쓰지 않게 되었을 때 (잔액 부족 등)
+    void cancel(int count) {
+        reserved.addAndGet(-count);
+    }
+
+    // reserve 로 확보한 자리에 넣음 (기다리지 않음)
+    void enqueue(PointHistory history) {
+        flushLock.lock();
+        try {
+            enqueued++;
+        } finally {
+            flushLock.unlock();
+        }
+        queue.add(history);
+    }
+
+    // 지금까지 넣은 내역이 모두 저장될 때까지 대기
+    void flush() throws InterruptedException {
+        flushLock.lock();
+        try {
+            while (written < enqueued) {
+                flushed.await();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 새 내역은 받지 않고 남은 내역을 모두 저장한 뒤 종료
+    void close() throws InterruptedException {
+        running = false;
+        thread.join();
+
+        List<PointHistory> rest = new ArrayList<>();     // 종료 직전에 들어온 내역
+        queue.drainTo(rest);
+        rest.sort(BY_ID);
+        write(rest);
+    }
+
+    private void run() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PointHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.sort(BY_ID);      // 같은 유저의 동시 요청은 id 순서와 다르게 들어올 수 있음
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PointHistory> batch) {
+        long startNanos = System.nanoTime();
+        for (PointHistory history : batch) {
+            try {
+                pointMetrics.timeHistoryInsert(history.userId(), () -> pointHistoryTable.insert(history.userId(), history.amount(), history.type(), history.updateMillis()));
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 저장 실패 : {}", history, e);
+            }
+        }
+        measure(batch.size(), System.nanoTime() - startNanos);
+        reserved.addAndGet(-batch.size());
+        flushLock.lock();
+        try {
+            written += batch.size();
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 배치 저장 속도를 이동 평균에 반영 (저장하는 동안의 속도라 대기열이 비어 쉬는 시간은 포함하지 않음)
+    private void measure(int count, long elapsedNanos) {
+        if (count == 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double rate = count * 1e9 / elapsedNanos;
+        drainRate = drainRate == 0 ? rate : drainRate + RATE_WEIGHT * (rate - drainRate);
+    }
+}
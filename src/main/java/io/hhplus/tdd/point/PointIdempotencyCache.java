@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.hhplus.tdd.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import io.hhplus.tdd.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 멱등성 키(Idempotency-Key) 캐시
+ * - (userId, key) 별로 처리 결과(future)를 보관하고, 같은 키로 다시 온 요청은 다시 처리하지 않고 같은 결과로 응답
+ * - 처리 중에 같은 키로 온 요청은 먼저 온 요청의 결과를 기다림
+ * - 잔액을 바꾸기 전에 거절된 요청(잔액 부족, 요청 수 초과 429, 대기열 초과 503)만 보관하지 않고, 다시 오면 새로 처리
+ * - 그 밖의 실패(저널 fsync 실패 등)는 잔액이 이미 바뀌었을 수 있으므로 실패 결과를 보관해서, 재시도로 두번 반영되지 않도록 함
+ * - 최대 개수와 보관 시간을 넘으면 제거 (Caffeine)
+ * - 적중/미스 통계는 cache.* 지표로 내보냄 (cache=idempotency)
+ */
+@Component
+public class PointIdempotencyCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    public static final Duration DEFAULT_EXPIRE_AFTER = Duration.ofHours(24);
+
+    private final Cache<Key, Entry> cache;
+
+    @Autowired
+    public PointIdempotencyCache(@Value("${point.idempotency.maximum-size:100000}") long maximumSize,
+                                 @Value("${point.idempotency.expire-after:24h}") Duration expireAfter,
+                                 PointMetrics pointMetrics) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+        pointMetrics.monitorCache("idempotency", cache);
+    }
+
+    public PointIdempotencyCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER, new PointMetrics());
+    }
+
+    /**
+     * 키에 해당하는 결과가 있으면 그 결과를, 없으면 command 를 실행한 결과를 반환
+     * - 같은 키로 다른 요청(종류, 금액)을 보내면 IdempotencyKeyConflictException
+     */
+    public CompletableFuture<UserPointResponse> execute(long userId, String idempotencyKey, TransactionType type, long amount,
+                                                        Supplier<CompletableFuture<UserPointResponse>> command) {
+        Key key = new Key(userId, idempotencyKey);
+        Entry created = new Entry(type, amount, new CompletableFuture<>());
+        Entry entry = cache.get(key, k -> created);
+        if (entry != created) {
+            if (entry.type != type || entry.amount != amount) {
+                throw new IdempotencyKeyConflictException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            }
+            return entry.result;
+        }
+
+        // 처음 온 요청만 실행 (반영 전에 거절되었으면 키를 제거해 다시 시도할 수 있도록)
+        created.result.whenComplete((response, e) -> {
+            if (e != null && rejectedBeforeApply(e)) {
+                cache.asMap().remove(key, created);
+            }
+        });
+        try {
+            command.get().whenComplete((response, e) -> {
+                if (e != null) {
+                    created.result.completeExceptionally(e);
+                } else {
+                    created.result.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            created.result.completeExceptionally(e);
+        }
+        return created.result;
+    }
+
+    // 잔액과 내역을 바꾸기 전에 거절된 실패인지 (비동기 실패는 감싼 예외를 꺼내서 확인)
+    static boolean rejectedBeforeApply(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof PointNotEnoughException
+                || cause instanceof TooManyRequestsException
+                || cause instanceof RejectedExecutionException;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // 적중/미스/제거 통계
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(TransactionType type, long amount, CompletableFuture<UserPointResponse> result) {
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 응답에 자주 쓰이는 UserPoint, PointHistory, TransactionType 직렬화
+ * - 리플렉션(BeanSerializer) 대신 필드를 직접 순서대로 씀 (필드 이름과 순서는 기본 직렬화와 같음)
+ * - 필드 이름과 enum 값은 미리 인코딩한 SerializedString 을 써서 요청마다 문자열을 다시 인코딩하지 않음
+ * - 스프링이 Module 빈을 ObjectMapper 에 등록하므로 컨트롤러 응답, NDJSON 스트리밍 모두 적용
+ */
+@Component
+public class PointJsonModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString POINT = new SerializedString("point");
+    private static final SerializableString UPDATE_MILLIS = new SerializedString("updateMillis");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString[] TYPE_NAMES = typeNames();
+
+    public PointJsonModule() {
+        super("PointJsonModule");
+        addSerializer(UserPoint.class, new UserPointSerializer());
+        addSerializer(PointHistory.class, new PointHistorySerializer());
+        addSerializer(TransactionType.class, new TransactionTypeSerializer());
+    }
+
+    private static SerializableString[] typeNames() {
+        TransactionType[] types = TransactionType.values();
+        SerializableString[] names = new SerializableString[types.length];
+        for (TransactionType type : types) {
+            names[type.ordinal()] = new SerializedString(type.name());
+        }
+        return names;
+    }
+
+    static final class UserPointSerializer extends StdSerializer<UserPoint> {
+
+        UserPointSerializer() {
+            super(UserPoint.class);
+        }
+
+        @Override
+        public void serialize(UserPoint value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            gen.writeNumber(value.id());
+            gen.writeFieldName(POINT);
+            gen.writeNumber(value.point());
+            gen.writeFieldName(UPDATE_MILLIS);
+            gen.writeNumber(value.updateMillis());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class PointHistorySerializer extends StdSerializer<PointHistory> {
+
+        PointHistorySerializer() {
+            super(PointHistory.class);
+        }
+
+        @Override
+        public void serialize(PointHistory value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            gen.writeNumber(value.id());
+            gen.writeFieldName(USER_ID);
+            gen.writeNumber(value.userId());
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(value.amount());
+            gen.writeFieldName(TYPE);
+            if (value.type() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(TYPE_NAMES[value.type().ordinal()]);
+            }
+            gen.writeFieldName(UPDATE_MILLIS);
+            gen.writeNumber(value.updateMillis());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class TransactionTypeSerializer extends StdSerializer<TransactionType> {
+
+        TransactionTypeSerializer() {
+            super(TransactionType.class);
+        }
+
+        @Override
+        public void serialize(TransactionType value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(TYPE_NAMES[value.ordinal()]);
+        }
+    }
+}
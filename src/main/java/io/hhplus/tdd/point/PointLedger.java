@@ -0,0 +1,303 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 포인트 잔액 원장 (메모리상의 최신 잔액)
+ * - 유저별 잔액은 불변 UserPoint 를 담은 atomic cell 에 두고, 충전/사용은 락 없이 compare-and-set 으로 반영
+ * - 사용은 CAS 직전에 읽은 잔액으로 부족 여부를 확인하므로 잔액이 음수가 되지 않음
+ * - 바뀐 잔액은 UserPointWriter 가 UserPointTable 에 비동기로 저장 (마지막 잔액만)
+ * - cell 은 테이블에서 한번만 읽어서 등록하며, 등록은 PointService 가 유저 락 안에서 처리
+ * - 테이블 조회(load)도 writer 의 저장과 같은 락으로 직렬화 (저장 중인 HashMap 을 읽어 잔액을 놓치지 않도록)
+ * - 잔액 반영부터 내역 저장까지를 cell 의 쓰기 구간으로 표시해서, 잔액과 내역을 같은 시점으로 읽을 수 있음 (read)
+ * - expireAfterIdle 동안 바뀌지 않았고 테이블에 저장까지 끝난 cell 은 원장에서 내림 (UserPointCache 로 옮기고, 다시 쓰면 새로 등록)
+ * - 내린 cell 은 쓰기 구간을 시작할 수 없으므로, beginWrite 가 false 이면 원장에서 cell 을 다시 찾아야 함
+ */
+@Component
+public class PointLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLedger.class);
+    private static final int SPINS = 64;
+
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final UserPointWriter writer;
+    private final PointMetrics pointMetrics;
+    private final UserPointCache userPointCache;
+    private final Counter evictedCounter;
+    private ScheduledExecutorService scheduler;       // 스케줄 없이 만들면 null
+
+    @Autowired
+    public PointLedger(UserPointTable userPointTable, PointMetrics pointMetrics, UserPointCache userPointCache,
+                       @Value("${point.ledger.expire-after-idle:10m}") Duration expireAfterIdle) {
+        this(userPointTable, pointMetrics, userPointCache);
+        long intervalMillis = Math.max(1, expireAfterIdle.toMillis() / 2);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-ledger-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> scheduledEvict(expireAfterIdle), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 스케줄 없이 evictIdle() 을 직접 호출할 때 사용 (테스트 등)
+    public PointLedger(UserPointTable userPointTable, PointMetrics pointMetrics, UserPointCache userPointCache) {
+        this.writer = new UserPointWriter(userPointTable, pointMetrics);
+        this.pointMetrics = pointMetrics;
+        this.userPointCache = userPointCache;
+        this.evictedCounter = Counter.builder("point.ledger.evicted")
+                .description("오래 쓰이지 않아 원장에서 내린 유저 수")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.ledger.cells", cells, ConcurrentHashMap::size)
+                .description("원장에 등록된 유저 수")
+                .register(pointMetrics.registry());
+    }
+
+    public PointLedger(UserPointTable userPointTable, PointMetrics pointMetrics) {
+        this(userPointTable, pointMetrics, new UserPointCache());
+    }
+
+    // 등록된 cell 조회 (없으면 null)
+    public Cell find(long id) {
+        return cells.get(id);
+    }
+
+    // 테이블에 저장된 잔액 조회 (UserPointTable 은 이 메서드로만 읽음)
+    public UserPoint load(long id) {
+        return writer.select(id);
+    }
+
+    // 테이블에서 읽은 잔액으로 cell 등록 (stored 가 null 이면 아직 없는 유저)
+    public Cell register(long id, UserPoint stored) {
+        return cells.computeIfAbsent(id, key -> new Cell(id, stored));
+    }
+
+    // 저널 복구용 : 복구한 잔액으로 cell 을 등록하고, 테이블 저장은 writer 에 맡김
+    public void restore(long id, long balance) {
+        Cell cell = cells.computeIfAbsent(id, key -> new Cell(id, null));
+        cell.point.set(new UserPoint(id, balance, System.currentTimeMillis()));
+        writer.enqueue(cell);
+    }
+
+    public UserPoint charge(Cell cell, long amount) {
+        for (;;) {
+            UserPoint current = cell.get();
+            long point = current == null ? 0 : current.point();
+            UserPoint updated = new UserPoint(cell.id, point + amount, nextMillis(current));
+            if (cell.point.compareAndSet(current, updated)) {
+                writer.enqueue(cell);
+                return updated;
+            }
+            pointMetrics.countLedgerRetry(TransactionType.CHARGE);
+        }
+    }
+
+    public UserPoint use(Cell cell, long amount) throws PointNotEnoughException {
+        for (;;) {
+            UserPoint current = cell.get();
+            if (current == null) {
+                throw new NullPointerException("존재하지 않는 id 입니다.");
+            }
+            if (current.point() - amount < 0) {
+                throw new PointNotEnoughException("포인트가 부족합니다.");
+            }
+            UserPoint updated = new UserPoint(cell.id, current.point() - amount, nextMillis(current));
+            if (cell.point.compareAndSet(current, updated)) {
+                writer.enqueue(cell);
+                return updated;
+            }
+            pointMetrics.countLedgerRetry(TransactionType.USE);
+        }
+    }
+
+    /**
+     * 잔액과 그 잔액까지 반영된 내역을 같은 시점으로 읽음
+     * - 진행 중인 쓰기가 없을 때 읽기 시작하고, 읽는 동안 새 쓰기가 시작되지 않았으면 결과를 반환 (아니면 다시 읽음)
+     * - 쓰기를 막지 않으며, 쓰기 구간은 CAS 와 메모리 내역 추가뿐이라 재시도는 짧음
+     * - 원장에서 내린 cell 이면 null (원장에서 cell 을 다시 찾아서 읽어야 함)
+     */
+    public <T> T read(Cell cell, Function<UserPoint, T> reader) {
+        for (int attempt = 0; ; attempt++) {
+            long stamp = cell.stableStamp();
+            if (stamp == RETIRED) {
+                return null;
+            }
+            if (stamp >= 0) {
+                T result = reader.apply(cell.get());
+                if (cell.started.get() == stamp) {
+                    return result;
+                }
+            }
+            if (attempt < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    /**
+     * 마지막 변경이 horizonMillis 이전이고 테이블에 저장까지 끝난 cell 을 원장에서 내리고 내린 수를 반환
+     * - 진행 중인 쓰기가 없을 때만 cell 을 닫고(retire), 닫은 뒤에도 저장된 잔액과 같은지 다시 확인
+     * - 내린 잔액은 캐시에 넣어서 다시 쓰거나 조회할 때 테이블을 읽지 않도록 함
+     */
+    public int evictIdle(long horizonMillis) {
+        int evicted = 0;
+        for (Cell cell : cells.values()) {
+            UserPoint current = cell.get();
+            if (current != null && current.updateMillis() >= horizonMillis || !cell.isClean()) {
+                continue;
+            }
+            if (!cell.retire()) {       // 쓰기가 진행 중
+                continue;
+            }
+            if (!cell.isClean()) {      // 확인과 닫기 사이에 변경됨
+                cell.reopen();
+                continue;
+            }
+            UserPoint saved = cell.get();
+            if (saved != null) {
+                userPointCache.put(saved);      // 원장에서 빠지기 전에 넣어서, 다시 등록할 때 테이블을 읽지 않도록
+            }
+            cells.remove(cell.id, cell);
+            evicted++;
+        }
+        evictedCounter.increment(evicted);
+        return evicted;
+    }
+
+    // 바뀐 잔액이 모두 테이블에 저장될 때까지 대기
+    public void flush() throws InterruptedException {
+        writer.flush();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        writer.close();
+    }
+
+    private void scheduledEvict(Duration expireAfterIdle) {
+        try {
+            int evicted = evictIdle(System.currentTimeMillis() - expireAfterIdle.toMillis());
+            if (evicted > 0) {
+                log.info("원장 정리 완료 : {} 명, 남은 유저 {} 명", evicted, cells.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("원장 정리 실패", e);
+        }
+    }
+
+    // 유저별 수정 시각이 뒤로 가지 않도록
+    private static long nextMillis(UserPoint current) {
+        long now = System.currentTimeMillis();
+        return current == null ? now : Math.max(now, current.updateMillis());
+    }
+
+    // 원장에서 내린 cell 의 started (쓰기 수는 음수가 되지 않음)
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    /**
+     * 유저 한 명의 잔액 cell
+     */
+    public static final class Cell {
+        private final long id;
+        private final AtomicReference<UserPoint> point;
+        private final AtomicBoolean dirty = new AtomicBoolean();      // 테이블 저장 대기중 여부
+        private final AtomicLong started = new AtomicLong();        // 시작한 쓰기 수 (원장에서 내리면 RETIRED)
+        private final AtomicLong completed = new AtomicLong();      // 내역 저장까지 끝난 쓰기 수
+        private volatile UserPoint saved;       // 테이블에 마지막으로 저장된 잔액
+
+        private Cell(long id, UserPoint stored) {
+            this.id = id;
+            this.point = new AtomicReference<>(stored);
+            this.saved = stored;        // 테이블(또는 캐시)에서 읽은 잔액
+        }
+
+        public long id() {
+            return id;
+        }
+
+        // 현재 잔액 (아직 없는 유저면 null)
+        public UserPoint get() {
+            return point.get();
+        }
+
+        // 잔액 반영 전에 호출하고, 내역 저장이 끝나면(실패해도) endWrite (원장에서 내린 cell 이면 false)
+        public boolean beginWrite() {
+            for (;;) {
+                long stamp = started.get();
+                if (stamp == RETIRED) {
+                    return false;
+                }
+                if (started.compareAndSet(stamp, stamp + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public void endWrite() {
+            completed.incrementAndGet();
+        }
+
+        // 진행 중인 쓰기가 없으면 지금까지 시작한 쓰기 수, 있으면 -1, 원장에서 내렸으면 RETIRED (completed 를 먼저 읽어야 함)
+        private long stableStamp() {
+            long done = completed.get();
+            long stamp = started.get();
+            return stamp == done || stamp == RETIRED ? stamp : -1;
+        }
+
+        // 진행 중인 쓰기가 없으면 이후 쓰기를 막음
+        private boolean retire() {
+            long done = completed.get();
+            return started.compareAndSet(done, RETIRED);
+        }
+
+        // retire 를 되돌림 (원장에서 내리기 전에만)
+        private void reopen() {
+            started.set(completed.get());
+        }
+
+        // 테이블 저장 대기 중이 아니고 현재 잔액이 저장된 잔액과 같음
+        private boolean isClean() {
+            return !dirty.get() && saved == point.get();
+        }
+
+        void markSaved(UserPoint userPoint) {
+            saved = userPoint;
+        }
+
+        boolean markDirty() {
+            return dirty.compareAndSet(false, true);
+        }
+
+        void clearDirty() {
+            dirty.set(false);
+        }
+    }
+}
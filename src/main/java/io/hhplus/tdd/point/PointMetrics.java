@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.hhplus.tdd.recording.PointTableEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 관련 지표 (Prometheus : /actuator/prometheus)
+ * - point.lock.wait / point.lock.hold : 유저 락 대기, 점유 시간 (operation=charge|use, 원장에 처음 등록할 때만 락을 사용)
+ * - point.ledger.retries : 원장 CAS 재시도 수 (operation)
+ * - point.admission.rejections / point.admission.pending : 요청 수 제한으로 거절된 수 (scope=user|global|lock), 처리 중인 요청 수
+ * - point.table.latency : 테이블 호출 시간 (table, method)
+ * - point.history.drain.rate / point.history.queue.limit / point.history.queue.reserved : 내역 테이블 저장 속도(건/초), 그 속도로 정한 대기열 크기, 저장 대기 중인 내역 수
+ * - point.operations : 충전/사용 결과 수 (operation, outcome=success|not_enough|error)
+ * - cache.gets / cache.puts / cache.evictions / cache.size : 캐시 적중/미스, 추가, 제거 수와 크기 (cache=user_point|idempotency)
+ */
+@Component
+public class PointMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<TransactionType, Timer> lockWaitTimers = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Timer> lockHoldTimers = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> successCounters = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> notEnoughCounters = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> errorCounters = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> ledgerRetryCounters = new EnumMap<>(TransactionType.class);
+    private final Map<PointAdmission.Scope, Counter> admissionRejectionCounters = new EnumMap<>(PointAdmission.Scope.class);
+    private final Timer selectByIdTimer;
+    private final Timer insertOrUpdateTimer;
+    private final Timer historyInsertTimer;
+
+    @Autowired
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (TransactionType type : TransactionType.values()) {
+            lockWaitTimers.put(type, operationTimer("point.lock.wait", "유저 락 획득 대기 시간", type));
+            lockHoldTimers.put(type, operationTimer("point.lock.hold", "유저 락 점유 시간", type));
+            successCounters.put(type, outcomeCounter(type, "success"));
+            notEnoughCounters.put(type, outcomeCounter(type, "not_enough"));
+            errorCounters.put(type, outcomeCounter(type, "error"));
+            ledgerRetryCounters.put(type, Counter.builder("point.ledger.retries")
+                    .description("원장 CAS 재시도 수")
+                    .tag("operation", operation(type))
+                    .register(registry));
+        }
+        for (PointAdmission.Scope scope : PointAdmission.Scope.values()) {
+            admissionRejectionCounters.put(scope, Counter.builder("point.admission.rejections")
+                    .description("요청 수 제한으로 거절된 충전/사용 수")
+                    .tag("scope", scope.name().toLowerCase())
+                    .register(registry));
+        }
+        this.selectByIdTimer = tableTimer("user_point", "selectById");
+        this.insertOrUpdateTimer = tableTimer("user_point", "insertOrUpdate");
+        this.historyInsertTimer = tableTimer("point_history", "insert");
+    }
+
+    // 지표를 외부로 내보내지 않는 곳(단위 테스트 등)에서 사용
+    public PointMetrics() {
+        this(new SimpleMeterRegistry());
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public void recordLockWait(TransactionType type, long nanos) {
+        lockWaitTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(TransactionType type, long nanos) {
+        lockHoldTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeSelectById(long userId, Supplier<T> call) {
+        return timeTable(selectByIdTimer, "user_point", "selectById", userId, call);
+    }
+
+    public <T> T timeInsertOrUpdate(long userId, Supplier<T> call) {
+        return timeTable(insertOrUpdateTimer, "user_point", "insertOrUpdate", userId, call);
+    }
+
+    public <T> T timeHistoryInsert(long userId, Supplier<T> call) {
+        return timeTable(historyInsertTimer, "point_history", "insert", userId, call);
+    }
+
+    // 테이블 호출 시간을 지표로 남기고, threshold 를 넘으면 JFR 이벤트로도 기록
+    private static <T> T timeTable(Timer timer, String table, String method, long userId, Supplier<T> call) {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        try {
+            return timer.record(call);
+        } finally {
+            event.record(table, method, userId);
+        }
+    }
+
+    public void countSuccess(TransactionType type) {
+        successCounters.get(type).increment();
+    }
+
+    public void countNotEnough(TransactionType type) {
+        notEnoughCounters.get(type).increment();
+    }
+
+    public void countError(TransactionType type) {
+        errorCounters.get(type).increment();
+    }
+
+    public void countLedgerRetry(TransactionType type) {
+        ledgerRetryCounters.get(type).increment();
+    }
+
+    // Caffeine 캐시 통계(recordStats)를 cache.* 지표로 내보냄
+    public void monitorCache(String name, Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public void countAdmissionRejection(PointAdmission.Scope scope) {
+        admissionRejectionCounters.get(scope).increment();
+    }
+
+    private Timer operationTimer(String name, String description, TransactionType type) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation(type))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer tableTimer(String table, String method) {
+        return Timer.builder("point.table.latency")
+                .description("테이블 호출 시간")
+                .tag("table", table)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter outcomeCounter(TransactionType type, String outcome) {
+        return Counter.builder("point.operations")
+                .description("포인트 충전/사용 결과 수")
+                .tag("operation", operation(type))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String operation(TransactionType type) {
+        return type.name().toLowerCase();
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리용 포인트 충전/사용 요청
+ */
+public record PointOperation(
+        long userId,
+        long amount,
+        TransactionType type
+) {
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청 건별 결과
+ * - 성공하면 처리 후 포인트, 실패하면 실패 사유를 담음
+ */
+public record PointOperationResult(
+        long userId,
+        long amount,
+        TransactionType type,
+        boolean success,
+        UserPoint userPoint,
+        String message
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.amount(), operation.type(), true, userPoint, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String message) {
+        return new PointOperationResult(operation.userId(), operation.amount(), operation.type(), false, null, message);
+    }
+}
@@ -3,77 +3,418 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.PointNotEnoughException;
-import lombok.AllArgsConstructor;
+import io.hhplus.tdd.journal.PointJournal;
+import io.hhplus.tdd.recording.PointLockEvent;
+import io.hhplus.tdd.recording.PointOperationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
-@AllArgsConstructor
-public class PointService {
+public class PointService implements AutoCloseable {
 
-    private UserPointTable userPointTable;
-    private PointHistoryTable pointHistoryTable;
-    private final Lock lock = new ReentrantLock();      // 동시성 제어를 위해 선언
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointCache userPointCache;
+    private final PointMetrics pointMetrics;
+    private final PointJournal pointJournal;
+    private final PointLedger pointLedger;
+    private final PointAdmission pointAdmission;
+    private final UserLockManager lockManager = new UserLockManager();     // 원장 등록시 유저별 동시성 제어
+    private final boolean ownsWriters;     // 원장과 내역 저장소를 직접 만들었으면 close 에서 종료 (빈으로 받았으면 각 빈의 @PreDestroy 로)
 
-    // 포인트 조회
+    @Autowired
+    public PointService(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache, PointMetrics pointMetrics,
+                        PointJournal pointJournal, PointLedger pointLedger, PointAdmission pointAdmission) {
+        this(pointHistoryRepository, userPointCache, pointMetrics, pointJournal, pointLedger, pointAdmission, false);
+    }
+
+    private PointService(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache, PointMetrics pointMetrics,
+                         PointJournal pointJournal, PointLedger pointLedger, PointAdmission pointAdmission, boolean ownsWriters) {
+        this.ownsWriters = ownsWriters;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointCache = userPointCache;
+        this.pointMetrics = pointMetrics;
+        this.pointJournal = pointJournal;
+        this.pointLedger = pointLedger;
+        this.pointAdmission = pointAdmission;
+    }
+
+    // 원장과 내역 저장소를 직접 만들어서 사용 (테스트, 벤치마크), 다 쓰면 close 로 write-behind 스레드를 종료
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        this(userPointTable, pointHistoryTable, new PointMetrics());
+    }
+
+    private PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointMetrics pointMetrics) {
+        this(userPointTable, pointHistoryTable, pointMetrics, new UserPointCache());
+    }
+
+    private PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointMetrics pointMetrics,
+                         UserPointCache userPointCache) {
+        this(new PointHistoryRepository(pointHistoryTable, pointMetrics), userPointCache, pointMetrics, PointJournal.none(),
+                new PointLedger(userPointTable, pointMetrics, userPointCache), PointAdmission.unlimited(pointMetrics), true);
+    }
+
+    // 직접 만든 원장과 내역 저장소의 남은 잔액/내역을 테이블에 저장하고 write-behind 스레드 종료
+    @Override
+    public void close() throws InterruptedException {
+        if (ownsWriters) {
+            pointLedger.close();
+            pointHistoryRepository.close();
+        }
+    }
+
+    // 포인트 조회 (원장이나 캐시에 있으면 테이블을 거치지 않음)
     public UserPoint selectPointById(long id) {
-        return userPointTable.selectById(id);
+        PointLedger.Cell cell = pointLedger.find(id);
+        if (cell != null) {
+            return cell.get();
+        }
+        UserPoint cached = userPointCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        try (UserLockManager.Handle handle = lockUser(id)) {     // 원장 등록과 겹치면 등록된 뒤 원장에서 조회
+            cell = pointLedger.find(id);
+            if (cell != null) {
+                return cell.get();
+            }
+            cached = userPointCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+            UserPoint user = pointLedger.load(id);      // 잔액 저장과 직렬화된 테이블 조회
+            if (user != null) {
+                userPointCache.put(user);
+            }
+            return user;
+        }
     }
 
-    // 포인트 충전
+    // 포인트 충전 (요청 수 한도를 넘으면 TooManyRequestsException)
     public UserPointResponse chargePoint(long id, long amount) {
-        UserPointResponse response = new UserPointResponse();
+        try (PointAdmission.Permit permit = pointAdmission.acquire(id)) {
+            return charge(id, amount);
+        }
+    }
+
+    // 포인트 사용 (요청 수 한도를 넘으면 TooManyRequestsException)
+    public UserPointResponse usePoint(long id, long usePoint) throws Exception {
+        try (PointAdmission.Permit permit = pointAdmission.acquire(id)) {
+            return execute(id, TransactionType.USE, usePoint);
+        }
+    }
+
+    /**
+     * 포인트 이체 (fromId 에서 사용, toId 에 충전)
+     * - 충전/사용과 같이 유저 락 없이 원장 CAS 로 반영하므로, 이체끼리나 충전/사용과 서로 기다리거나 교착되지 않음
+     * - 잔액 확인은 보내는 쪽 원장 CAS 한번으로 하고, 받는 쪽 충전은 실패하지 않으므로 한쪽만 반영되는 경우가 없음
+     * - 두 유저의 쓰기 구간 안에서 잔액과 내역을 함께 바꾸므로, 유저별 잔액과 내역은 같은 시점으로 조회됨
+     * - 내역 두 건의 테이블 저장 자리를 잔액을 바꾸기 전에 확보하므로, 잔액을 바꾼 뒤에는 내역 추가가 실패하지 않음
+     * - 두 내역은 쓰기 구간 밖에서 저널에 연속으로 기록하고 함께 디스크 반영을 기다림, 테이블 저장은 원장 write-behind 가 비동기로 처리
+     */
+    public PointTransferResult transferPoint(long fromId, long toId, long amount) throws PointNotEnoughException {
+        if (fromId == toId) {
+            throw new IllegalArgumentException("같은 유저에게 이체할 수 없습니다.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("이체 금액은 0 보다 커야 합니다.");
+        }
+        try (PointAdmission.Permit fromPermit = pointAdmission.acquire(fromId);
+             PointAdmission.Permit toPermit = pointAdmission.acquire(toId)) {
+            pointHistoryRepository.reserve(2);     // 테이블 저장 대기열이 가득 차면 잔액을 바꾸기 전에 거절
+            UserPoint from;
+            UserPoint to;
+            PointHistory fromHistory = null;
+            PointHistory toHistory = null;
+            try {
+                ledgerCell(toId, TransactionType.CHARGE);       // 보내는 쪽 쓰기 구간을 연 채로 테이블을 읽지 않도록 먼저 등록
+                PointLedger.Cell fromCell = writableCell(fromId, TransactionType.USE);
+                try {
+                    PointLedger.Cell toCell = writableCell(toId, TransactionType.CHARGE);
+                    try {
+                        from = pointLedger.use(fromCell, amount);
+                        to = pointLedger.charge(toCell, amount);
+                        fromHistory = pointHistoryRepository.append(fromId, amount, TransactionType.USE, from.updateMillis());
+                        toHistory = pointHistoryRepository.append(toId, amount, TransactionType.CHARGE, to.updateMillis());
+                    } finally {
+                        toCell.endWrite();
+                    }
+                } catch (PointNotEnoughException e) {
+                    pointMetrics.countNotEnough(TransactionType.USE);
+                    throw e;
+                } finally {
+                    fromCell.endWrite();
+                }
+            } finally {
+                if (toHistory == null) {        // 잔액을 바꾸지 못함
+                    pointHistoryRepository.cancel(fromHistory == null ? 2 : 1);
+                }
+            }
+            pointHistoryRepository.write(fromHistory);     // 쓰기 구간 밖에서
+            pointHistoryRepository.write(toHistory);
+            long journalSequence = pointJournal.appendAll(new PointHistory[]{fromHistory, toHistory}, new long[]{from.point(), to.point()});
+            pointMetrics.countSuccess(TransactionType.USE);
+            pointMetrics.countSuccess(TransactionType.CHARGE);
+            awaitDurable(journalSequence);
+            return new PointTransferResult(from, to, fromHistory, toHistory);
+        }
+    }
+
+    // 포인트 충전 (executor 에서 실행하고 결과는 future 로 반환, executor 대기열에 있는 동안에도 요청 수에 포함)
+    public CompletableFuture<UserPointResponse> chargePointAsync(long id, long amount, Executor executor) {
+        PointAdmission.Permit permit = pointAdmission.acquire(id);
+        return submitAsync(permit, () -> charge(id, amount), executor);
+    }
+
+    // 포인트 사용 (executor 에서 실행하고 결과는 future 로 반환, 잔액 부족은 CompletionException 의 cause 로 전달)
+    public CompletableFuture<UserPointResponse> usePointAsync(long id, long usePoint, Executor executor) {
+        PointAdmission.Permit permit = pointAdmission.acquire(id);
+        return submitAsync(permit, () -> {
+            try {
+                return execute(id, TransactionType.USE, usePoint);
+            } catch (PointNotEnoughException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    // 요청 수 한도 확인 (명령을 큐에 넣기 전에, 처리가 끝나면 Permit 을 닫아야 함)
+    PointAdmission.Permit admit(long id) {
+        return pointAdmission.acquire(id);
+    }
+
+    // 원장에 없는 유저를 미리 등록 (명령을 큐에 넣기 전에, 처음 한번의 테이블 조회를 명령 처리 스레드 밖에서 하도록)
+    void preload(long id, TransactionType type) {
+        if (pointLedger.find(id) == null) {
+            ledgerCell(id, type);
+        }
+    }
+
+    private UserPointResponse charge(long id, long amount) {
         try {
-            lock.lock();        // 동시성 제어
-            UserPoint user = userPointTable.selectById(id);
-            PointHistory history;
+            return execute(id, TransactionType.CHARGE, amount);
+        } catch (PointNotEnoughException e) {
+            throw new IllegalStateException(e);     // 충전에서는 발생하지 않음
+        }
+    }
+
+    private static CompletableFuture<UserPointResponse> submitAsync(PointAdmission.Permit permit, Supplier<UserPointResponse> task,
+                                                                    Executor executor) {
+        try {
+            CompletableFuture<UserPointResponse> future = CompletableFuture.supplyAsync(task, executor);
+            future.whenComplete((response, e) -> permit.close());
+            return future;
+        } catch (RuntimeException e) {      // executor 가 거절
+            permit.close();
+            throw e;
+        }
+    }
+
+    // 포인트 내역 조회
+    public List<PointHistory> findAllHistoryById(long id) {
+        return pointHistoryRepository.selectAllByUserId(id);
+    }
 
-            if (user == null) {
-                user = userPointTable.insertOrUpdate(id, amount);
-            } else {
-                user = userPointTable.insertOrUpdate(id, user.point()+amount);
+    /**
+     * 잔액과 최근 내역 limit 개를 같은 시점으로 조회
+     * - 잔액은 원장에서, 내역은 유저별 인덱스에서 읽고 그 사이에 충전/사용이 반영되면 다시 읽음 (PointLedger.read)
+     * - 원장에 없는 유저는 테이블에서 한번 읽어 등록하므로, 테이블 지연은 처음 한번만 있고 내역 조회는 메모리에서 끝남
+     */
+    public PointAccount findAccountById(long id, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit 은 1 이상이어야 합니다.");
+        }
+        for (;;) {
+            PointLedger.Cell cell = pointLedger.find(id);
+            if (cell == null) {
+                try (UserLockManager.Handle handle = lockUser(id)) {
+                    cell = loadCell(id);
+                }
             }
-            response.setUserPoint(user);
+            PointAccount account = pointLedger.read(cell, point -> new PointAccount(point, pointHistoryRepository.selectLatestByUserId(id, limit)));
+            if (account != null) {      // 읽는 사이 원장에서 내려갔으면 다시 등록해서 읽음
+                return account;
+            }
+        }
+    }
+
+    // 포인트 내역 페이지 조회 (cursor 이후 내역을 limit 개씩)
+    public PointHistoryPage findHistoryPageById(long id, long cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit 은 1 이상이어야 합니다.");
+        }
+        return pointHistoryRepository.selectPageByUserId(id, cursor, limit);
+    }
 
-            history = pointHistoryTable.insert(user.id(),amount,TransactionType.CHARGE,0);
-            response.setPointHistory(history);
+    // 포인트 내역 기간 조회 (기록 시각이 [fromMillis, toMillis) 인 내역을 cursor 이후 limit 개씩)
+    public PointHistoryPage findHistoryRangeById(long id, long fromMillis, long toMillis, long cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit 은 1 이상이어야 합니다.");
+        }
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("from 은 to 보다 클 수 없습니다.");
+        }
+        return pointHistoryRepository.selectRangeByUserId(id, fromMillis, toMillis, cursor, limit);
+    }
+
+    // 보관 기간이 지나 체크포인트로 접힌 내역 조회
+    public PointHistoryCheckpoint findHistoryCheckpointById(long id) {
+        return pointHistoryRepository.checkpointByUserId(id);
+    }
+
+    // 충전/사용 요약 조회 (date 가 없으면 오늘 기준)
+    public PointSummary findSummaryById(long id, LocalDate date) {
+        return pointHistoryRepository.summaryByUserId(id, date != null ? date : LocalDate.now(pointHistoryRepository.zone()));
+    }
+
+    // 포인트 내역을 리스트로 모으지 않고 하나씩 전달
+    public void forEachHistoryById(long id, Consumer<PointHistory> action) {
+        pointHistoryRepository.forEachByUserId(id, action);
+    }
+
+    /**
+     * 원장에 충전/사용을 반영하고 내역을 저장
+     * - 잔액 확인과 변경은 원장의 CAS 로 처리하므로 락을 잡지 않음 (테이블 저장은 비동기)
+     * - 내역과 잔액을 저널에 기록하고 디스크에 반영된 뒤에 응답 (반영 전에 멈추면 응답받지 못한 요청만 유실)
+     */
+    private UserPointResponse execute(long id, TransactionType type, long amount) throws PointNotEnoughException {
+        PointOperationEvent event = new PointOperationEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            Applied applied = apply(id, type, amount);
+            awaitDurable(applied.journalSequence());
+            outcome = "success";
+            return applied.response();
+        } catch (PointNotEnoughException e) {
+            outcome = "not_enough";
+            throw e;
         } finally {
-            lock.unlock();
+            event.record(id, type, amount, outcome);     // threshold 를 넘은 요청만 JFR 에 기록
         }
-        return response;
     }
 
-    // 포인트 사용
-    public UserPointResponse usePoint(long id, long usePoint) throws Exception {
-        UserPointResponse response = new UserPointResponse();
+    // 결과를 따로 받아 기록하는 곳(ShardedPointCommandEngine)의 PointOperationEvent outcome (execute 와 같은 값)
+    static String outcome(Throwable e) {
+        if (e == null) {
+            return "success";
+        }
+        return e instanceof PointNotEnoughException ? "not_enough" : "error";
+    }
+
+    /**
+     * 충전/사용을 원장에 반영하고 내역과 저널을 기록 (저널이 디스크에 반영되는 것은 기다리지 않음)
+     * - 여러 건을 반영한 뒤 마지막 저널 순번으로 한번만 기다릴 때 사용 (ShardedPointCommandEngine)
+     */
+    Applied apply(long id, TransactionType type, long amount) throws PointNotEnoughException {
         try {
-            lock.lock();    // 동시성 제어
-            UserPoint user = userPointTable.selectById(id);
+            pointHistoryRepository.reserve(1);     // 테이블 저장 대기열이 가득 차면 잔액을 바꾸기 전에 거절
+            UserPoint updated = null;
             PointHistory history;
+            PointLedger.Cell cell = null;
+            try {
+                cell = writableCell(id, type);
+                updated = type == TransactionType.CHARGE ? pointLedger.charge(cell, amount) : pointLedger.use(cell, amount);
+                history = pointHistoryRepository.append(id, amount, type, updated.updateMillis());
+            } finally {
+                if (cell != null) {
+                    cell.endWrite();
+                }
+                if (updated == null) {
+                    pointHistoryRepository.cancel(1);
+                }
+            }
+            pointHistoryRepository.write(history);     // 세그먼트 락과 쓰기 구간 밖에서
+            long journalSequence = pointJournal.append(history, updated.point());
+
+            UserPointResponse response = new UserPointResponse(updated, history);
+            pointMetrics.countSuccess(type);
+            return new Applied(response, journalSequence);
+        } catch (PointNotEnoughException e) {
+            pointMetrics.countNotEnough(type);
+            throw e;
+        } catch (RuntimeException e) {
+            pointMetrics.countError(type);
+            throw e;
+        }
+    }
+
+    // journalSequence 까지 저널이 디스크에 반영될 때까지 대기
+    void awaitDurable(long journalSequence) {
+        pointJournal.awaitDurable(journalSequence);
+    }
+
+    // 쓰기 구간을 시작한 cell (원장에서 내려간 cell 이면 다시 등록될 때까지 재시도)
+    private PointLedger.Cell writableCell(long id, TransactionType type) {
+        for (;;) {
+            PointLedger.Cell cell = ledgerCell(id, type);
+            if (cell.beginWrite()) {
+                return cell;
+            }
+            Thread.onSpinWait();
+        }
+    }
 
-            if (user == null) {
-                throw new NullPointerException("존재하지 않는 id 입니다.");
+    // 원장에 없는 유저는 유저 락 안에서 한번만 테이블(또는 캐시)에서 읽어 등록
+    private PointLedger.Cell ledgerCell(long id, TransactionType type) {
+        PointLedger.Cell cell = pointLedger.find(id);
+        if (cell != null) {
+            return cell;
+        }
+        PointLockEvent event = new PointLockEvent();
+        event.begin();
+        long waitStart = System.nanoTime();
+        try (UserLockManager.Handle handle = lockUser(id)) {
+            long holdStart = System.nanoTime();
+            long waitNanos = holdStart - waitStart;
+            pointMetrics.recordLockWait(type, waitNanos);
+            try {
+                return loadCell(id);
+            } finally {
+                long holdNanos = System.nanoTime() - holdStart;
+                pointMetrics.recordLockHold(type, holdNanos);
+                event.record(id, type, waitNanos, holdNanos);
             }
+        }
+    }
 
-            if (user.point() - usePoint < 0) {
-                throw new PointNotEnoughException("포인트가 부족합니다.");
+    // 유저 락 안에서 호출 : 원장에 없으면 캐시나 테이블에서 읽어서 등록
+    private PointLedger.Cell loadCell(long id) {
+        PointLedger.Cell cell = pointLedger.find(id);
+        if (cell == null) {
+            UserPoint stored = userPointCache.get(id);
+            if (stored == null) {
+                stored = pointLedger.load(id);
             }
-            user = userPointTable.insertOrUpdate(id, user.point()-usePoint);
+            cell = pointLedger.register(id, stored);
+            userPointCache.invalidate(id);      // 이후 조회는 원장에서
+        }
+        return cell;
+    }
 
-            response.setUserPoint(user);
-            history = pointHistoryTable.insert(user.id(),usePoint,TransactionType.USE,0);
-            response.setPointHistory(history);
-        } finally {
-            lock.unlock();
+    // 유저 락은 정해진 시간까지만 기다리고, 넘으면 TooManyRequestsException
+    private UserLockManager.Handle lockUser(long id) {
+        try {
+            UserLockManager.Handle handle = lockManager.tryLock(id, pointAdmission.lockTimeoutMillis(), TimeUnit.MILLISECONDS);
+            if (handle == null) {
+                throw pointAdmission.lockTimeout();
+            }
+            return handle;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("유저 락 대기 중 인터럽트되었습니다.", e);
         }
-        return response;
     }
-    
-    // 포인트 내역 조회
-    public List<PointHistory> findAllHistoryById(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+
+    // 반영된 충전/사용 결과와 저널 순번
+    record Applied(UserPointResponse response, long journalSequence) {
     }
 }
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * 유저별 포인트 요약
+ * - total : 전체 기간 합계
+ * - daily / monthly : date 가 속한 날짜, 월의 합계 (보관 기간이 지나 그 달 내역 일부가 접혀 월 합계를 알 수 없으면 monthly 는 null)
+ */
+public record PointSummary(
+        long userId,
+        PointTotals total,
+        LocalDate date,
+        PointTotals daily,
+        YearMonth month,
+        PointTotals monthly
+) {
+
+    public static PointSummary empty(long userId, LocalDate date) {
+        return new PointSummary(userId, PointTotals.EMPTY, date, PointTotals.EMPTY, YearMonth.from(date), PointTotals.EMPTY);
+    }
+}
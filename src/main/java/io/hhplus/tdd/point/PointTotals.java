@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 충전/사용 합계와 건수
+ */
+public record PointTotals(
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount
+) {
+
+    public static final PointTotals EMPTY = new PointTotals(0, 0, 0, 0);
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 (fromUserId 에서 toUserId 로 amount 만큼)
+ */
+public record PointTransfer(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과 (이체 후 두 유저의 잔액과 각각 저장된 사용/충전 내역)
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to,
+        PointHistory fromHistory,
+        PointHistory toHistory
+) {
+}
@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.recording.PointOperationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드별 단일 스레드 명령 처리 엔진 (point.engine.mode=sharded)
+ * - 유저 id 해시로 샤드를 고르고, 샤드마다 전용 스레드 하나가 고정 크기 큐(배열 기반 ring buffer)의 명령을 순서대로 처리
+ * - 같은 유저의 명령은 항상 같은 샤드에서 순서대로 실행되므로 원장 CAS 재시도나 유저 락 대기가 생기지 않음
+ * - 큐에서 한번에 꺼낸 명령들을 모두 반영한 뒤 저널 디스크 반영은 한번만 기다림
+ * - 큐가 가득 차면 제출한 스레드가 기다림 (backpressure)
+ * - 유저별, 전체 요청 수 한도(PointAdmission)를 넘는 명령은 큐에 넣지 않고 바로 실패
+ * - 원장에 없는 유저는 제출한 스레드에서 먼저 등록한 뒤 큐에 넣으므로, 처음 한번의 테이블 조회가 샤드 스레드를 막지 않음
+ * - 명령마다 반영부터 저널 디스크 반영까지를 PointOperationEvent 로 기록 (PointService.execute 와 같음)
+ */
+public class ShardedPointCommandEngine implements PointCommandExecutor, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPointCommandEngine.class);
+
+    private final PointService pointService;
+    private final Shard[] shards;
+    private final int batchSize;
+    private volatile boolean running = true;
+
+    public ShardedPointCommandEngine(PointService pointService, int shardCount, int queueCapacity) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다.");
+        }
+        this.pointService = pointService;
+        this.batchSize = Math.min(queueCapacity, 256);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserPointResponse> submit(long userId, TransactionType type, long amount) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("명령 처리가 종료되었습니다."));
+        }
+        PointAdmission.Permit permit;
+        try {
+            permit = pointService.admit(userId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Command command = new Command(userId, type, amount);
+        command.result.whenComplete((response, e) -> permit.close());
+        try {
+            pointService.preload(userId, type);
+        } catch (RuntimeException e) {
+            command.result.completeExceptionally(e);
+            return command.result;
+        }
+        try {
+            shards[shardOf(userId)].queue.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.result.completeExceptionally(e);
+        }
+        return command.result;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    int shardOf(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) shards.length);
+    }
+
+    // 새 명령은 받지 않고 이미 받은 명령을 모두 처리한 뒤 종료
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            shard.thread.join();
+            for (Command command; (command = shard.queue.poll()) != null; ) {     // 종료 중에 들어온 명령
+                command.result.completeExceptionally(new IllegalStateException("명령 처리가 종료되었습니다."));
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        List<Command> applied = new ArrayList<>(batch.size());
+        long journalSequence = 0;
+        for (Command command : batch) {
+            command.event.begin();
+            try {
+                PointService.Applied result = pointService.apply(command.userId, command.type, command.amount);
+                command.response = result.response();
+                journalSequence = Math.max(journalSequence, result.journalSequence());
+                applied.add(command);
+            } catch (Exception e) {
+                command.fail(e);
+            }
+        }
+        try {
+            pointService.awaitDurable(journalSequence);
+            applied.forEach(Command::succeed);
+        } catch (RuntimeException e) {
+            log.error("저널 반영 실패", e);
+            applied.forEach(command -> command.fail(e));
+        }
+    }
+
+    private final class Shard {
+        private final BlockingQueue<Command> queue;
+        private final Thread thread;
+
+        private Shard(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this::run, "point-shard-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    // 충전/사용 명령
+    private static final class Command {
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPointResponse> result = new CompletableFuture<>();
+        private final PointOperationEvent event = new PointOperationEvent();      // 샤드 스레드에서 반영을 시작할 때 begin
+        private UserPointResponse response;     // 반영 후 저널 반영 전까지 보관
+
+        private Command(long userId, TransactionType type, long amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        private void succeed() {
+            event.record(userId, type, amount, PointService.outcome(null));
+            result.complete(response);
+        }
+
+        private void fail(Throwable e) {
+            event.record(userId, type, amount, PointService.outcome(e));
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 id(long) -> 유저별 내역 세그먼트 인덱스
+ * - Long 박싱 없이 open addressing(선형 탐사)으로 관리
+ * - 세그먼트는 추가만 되고 삭제되지 않으므로, 조회는 락 없이 현재 테이블을 탐색
+ * - 추가/리사이즈만 락으로 직렬화
+ */
+final class UserHistoryIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile AtomicReferenceArray<HistorySegment> slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private int size;       // writeLock 안에서만 변경
+    private final ZoneId zone;      // 세그먼트별 일별/월별 집계 시간대
+
+    UserHistoryIndex(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    // 유저 세그먼트 조회 (없으면 null)
+    HistorySegment find(long userId) {
+        AtomicReferenceArray<HistorySegment> table = slots;
+        int mask = table.length() - 1;
+        for (int i = hash(userId) & mask; ; i = (i + 1) & mask) {
+            HistorySegment segment = table.get(i);
+            if (segment == null || segment.userId() == userId) {
+                return segment;
+            }
+        }
+    }
+
+    // 유저 세그먼트 조회 (없으면 생성)
+    HistorySegment findOrCreate(long userId) {
+        HistorySegment segment = find(userId);
+        if (segment != null) {
+            return segment;
+        }
+        writeLock.lock();
+        try {
+            segment = find(userId);     // 락 획득 전에 다른 스레드가 만들었을 수 있음
+            if (segment == null) {
+                if ((size + 1) * 2 > slots.length()) {      // load factor 0.5
+                    slots = resize(slots);
+                }
+                segment = new HistorySegment(userId, zone);
+                put(slots, segment);
+                size++;
+            }
+            return segment;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 현재 등록된 모든 세그먼트 순회 (순회 중에 추가된 유저는 빠질 수 있음)
+    void forEach(Consumer<HistorySegment> action) {
+        AtomicReferenceArray<HistorySegment> table = slots;
+        for (int i = 0; i < table.length(); i++) {
+            HistorySegment segment = table.get(i);
+            if (segment != null) {
+                action.accept(segment);
+            }
+        }
+    }
+
+    private static AtomicReferenceArray<HistorySegment> resize(AtomicReferenceArray<HistorySegment> table) {
+        AtomicReferenceArray<HistorySegment> resized = new AtomicReferenceArray<>(table.length() * 2);
+        for (int i = 0; i < table.length(); i++) {
+            HistorySegment segment = table.get(i);
+            if (segment != null) {
+                put(resized, segment);
+            }
+        }
+        return resized;
+    }
+
+    private static void put(AtomicReferenceArray<HistorySegment> table, HistorySegment segment) {
+        int mask = table.length() - 1;
+        int i = hash(segment.userId()) & mask;
+        while (table.get(i) != null) {
+            i = (i + 1) & mask;
+        }
+        table.set(i, segment);
+    }
+
+    private static int hash(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
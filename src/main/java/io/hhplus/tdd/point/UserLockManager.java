@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락 관리
+ * - 유저 id 단위로 락을 발급해 서로 다른 유저의 요청은 병렬로 처리
+ * - 같은 유저의 요청은 공정(fair) 락으로 도착 순서대로 처리
+ * - 락을 잡고 있거나 기다리는 스레드가 없으면 엔트리를 제거 (idle 엔트리가 쌓이지 않음)
+ */
+public class UserLockManager {
+
+    private final ConcurrentHashMap<Long, Entry> locks = new ConcurrentHashMap<>();
+
+    // 유저 락 획득 (try-with-resources 로 해제)
+    public Handle lock(long userId) {
+        Entry entry = retain(userId);
+        try {
+            entry.lock.lock();
+        } catch (RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+        return new Handle(userId, entry);
+    }
+
+    // 유저 락 획득 (timeout 안에 획득하지 못하면 null)
+    public Handle tryLock(long userId, long timeout, TimeUnit unit) throws InterruptedException {
+        Entry entry = retain(userId);
+        boolean locked = false;
+        try {
+            locked = entry.lock.tryLock(timeout, unit);
+        } finally {
+            if (!locked) {
+                release(userId);
+            }
+        }
+        return locked ? new Handle(userId, entry) : null;
+    }
+
+    // 현재 관리중인 유저 락 수
+    public int size() {
+        return locks.size();
+    }
+
+    // 참조 카운트 증가 (없으면 생성)
+    private Entry retain(long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            if (entry == null) {
+                entry = new Entry();
+            }
+            entry.refs++;
+            return entry;
+        });
+    }
+
+    // 참조 카운트 감소 (0이 되면 제거)
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.refs == 0 ? null : entry);
+    }
+
+    private static class Entry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int refs;       // compute 안에서만 변경
+    }
+
+    public class Handle implements AutoCloseable {
+        private final long userId;
+        private final Entry entry;
+
+        private Handle(long userId, Entry entry) {
+            this.userId = userId;
+            this.entry = entry;
+        }
+
+        @Override
+        public void close() {
+            entry.lock.unlock();
+            release(userId);
+        }
+    }
+}
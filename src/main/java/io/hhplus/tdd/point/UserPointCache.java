@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 포인트 캐시
+ * - 최대 유저 수를 넘으면 W-TinyLFU 정책으로 제거 (Caffeine)
+ * - 조회만 한 유저의 잔액을 보관 (read-through)
+ * - 충전/사용한 유저는 PointLedger 에 등록되고 이후 조회도 원장에서 처리하므로 캐시에서 제거
+ * - 적중/미스 통계는 cache.* 지표로 내보냄 (cache=user_point)
+ */
+@Component
+public class UserPointCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<Long, UserPoint> cache;
+
+    @Autowired
+    public UserPointCache(@Value("${point.cache.maximum-size:10000}") long maximumSize, PointMetrics pointMetrics) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        pointMetrics.monitorCache("user_point", cache);
+    }
+
+    public UserPointCache() {
+        this(DEFAULT_MAXIMUM_SIZE, new PointMetrics());
+    }
+
+    // 캐시 조회 (없으면 null)
+    public UserPoint get(long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(UserPoint userPoint) {
+        cache.put(userPoint.id(), userPoint);
+    }
+
+    public void invalidate(long id) {
+        cache.invalidate(id);
+    }
+
+    // 적중/미스/제거 통계
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
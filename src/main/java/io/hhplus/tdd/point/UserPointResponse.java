@@ -1,11 +1,15 @@
 package io.hhplus.tdd.point;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserPointResponse {
     UserPoint userPoint;
     PointHistory pointHistory;
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔액 write-behind (last-writer-wins)
+ * - 잔액이 바뀐 유저를 큐에 한번만 넣고, 전용 스레드가 꺼낼 때의 최신 잔액을 UserPointTable 에 저장
+ * - 저장되기 전에 여러 번 바뀌면 마지막 잔액만 한번 저장 (coalescing), 큐에는 유저당 최대 한 건
+ * - 저장에 실패하면 다시 큐에 넣고 간격을 늘려가며 재시도 (저장될 때까지 flush 는 기다리고, 원장에서 내리지 않음)
+ * - 테이블 저장과 조회(select)는 같은 락으로 직렬화 (UserPointTable 의 HashMap 은 thread-safe 하지 않음)
+ */
+class UserPointWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPointWriter.class);
+    private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final UserPointTable userPointTable;
+    private final PointMetrics pointMetrics;
+    private final BlockingQueue<PointLedger.Cell> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final ReentrantLock tableLock = new ReentrantLock(true);       // 조회가 계속되는 저장 뒤에서 굶지 않도록 fair
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private long enqueued;      // flushLock 안에서만 변경
+    private long written;       // flushLock 안에서만 변경
+    private volatile boolean running = true;
+
+    UserPointWriter(UserPointTable userPointTable, PointMetrics pointMetrics) {
+        this.userPointTable = userPointTable;
+        this.pointMetrics = pointMetrics;
+        this.thread = new Thread(this::run, "point-balance-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // 이미 저장 대기중인 유저면 넣지 않음 (꺼낼 때 최신 잔액을 저장하므로)
+    void enqueue(PointLedger.Cell cell) {
+        if (!cell.markDirty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            enqueued++;
+        } finally {
+            flushLock.unlock();
+        }
+        queue.add(cell);
+    }
+
+    // 테이블에서 잔액 조회 (저장 중이면 끝날 때까지 대기)
+    UserPoint select(long id) {
+        tableLock.lock();
+        try {
+            return pointMetrics.timeSelectById(id, () -> userPointTable.selectById(id));
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    // 지금까지 바뀐 잔액이 모두 저장될 때까지 대기
+    void flush() throws InterruptedException {
+        flushLock.lock();
+        try {
+            while (written < enqueued) {
+                flushed.await();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 남은 잔액을 모두 저장한 뒤 종료
+    void close() throws InterruptedException {
+        running = false;
+        thread.join();
+        for (PointLedger.Cell cell; (cell = queue.poll()) != null; ) {
+            write(cell);
+        }
+    }
+
+    private void run() {
+        long retryNanos = MIN_RETRY_NANOS;
+        while (running || !queue.isEmpty()) {
+            try {
+                PointLedger.Cell cell = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (cell == null) {
+                    continue;
+                }
+                if (write(cell)) {
+                    retryNanos = MIN_RETRY_NANOS;
+                } else {
+                    LockSupport.parkNanos(retryNanos);      // 테이블이 회복될 시간을 두고 다시 시도
+                    retryNanos = Math.min(retryNanos * 2, MAX_RETRY_NANOS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 저장에 실패하면 false (실행 중이면 다시 큐에 넣음, 종료 중이면 저널 복구에 맡김)
+    private boolean write(PointLedger.Cell cell) {
+        cell.clearDirty();      // 잔액을 읽기 전에 해제해서, 이후 변경은 다시 큐에 들어오도록 함
+        UserPoint current = cell.get();
+        boolean saved = false;
+        tableLock.lock();
+        try {
+            pointMetrics.timeInsertOrUpdate(current.id(), () -> userPointTable.insertOrUpdate(current.id(), current.point()));
+            cell.markSaved(current);
+            saved = true;
+        } catch (RuntimeException e) {
+            log.error("잔액 저장 실패 : {}", current, e);
+        } finally {
+            tableLock.unlock();
+        }
+        if (!saved && running) {
+            enqueue(cell);      // 그 사이 바뀌어서 이미 큐에 있으면 넣지 않음 (꺼낼 때 최신 잔액을 저장)
+        }
+        flushLock.lock();
+        try {
+            written++;
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.recording;
+
+import io.hhplus.tdd.point.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * 유저 락 한번 (대기 + 점유)
+ * - 이벤트 시간이 threshold 이상인 것만 기록 (point.recording.lock-threshold)
+ */
+@Name("hhplus.PointLock")
+@Label("Point User Lock")
+@Category({"hhplus", "Point"})
+@Description("유저 락 대기/점유")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class PointLockEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitTime;
+
+    @Label("Hold Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long holdTime;
+
+    // 대기 시작 전에 begin(), 락을 푼 뒤 호출
+    public void record(long userId, TransactionType type, long waitTime, long holdTime) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.operation = type.name().toLowerCase();
+            this.waitTime = waitTime;
+            this.holdTime = holdTime;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.recording;
+
+import io.hhplus.tdd.point.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 포인트 충전/사용 한 건 (원장 반영부터 저널 디스크 반영 대기까지)
+ * - 이벤트 시간이 threshold 이상인 것만 기록 (point.recording.operation-threshold)
+ */
+@Name("hhplus.PointOperation")
+@Label("Point Operation")
+@Category({"hhplus", "Point"})
+@Description("포인트 충전/사용 처리")
+@Threshold("10 ms")
+@StackTrace(false)
+public final class PointOperationEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Amount")
+    public long amount;
+
+    @Label("Outcome")
+    @Description("success, not_enough, error")
+    public String outcome;
+
+    // begin() 이후 호출 : 끝내고 threshold 를 넘었을 때만 값을 채워 기록
+    public void record(long userId, TransactionType type, long amount, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.operation = type.name().toLowerCase();
+            this.amount = amount;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
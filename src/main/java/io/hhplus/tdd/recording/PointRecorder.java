@@ -0,0 +1,142 @@
+package io.hhplus.tdd.recording;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 프로파일러 없이 JFR 기록을 남기는 기능
+ * - JDK 기본 설정(default)에 포인트 이벤트(충전/사용, 유저 락, 테이블 호출)를 설정한 threshold 로 켜서 기록
+ * - 정해진 시간이 지나거나 stop() 하면 directory 아래 .jfr 파일로 저장 (JDK Mission Control, jfr print 로 확인)
+ * - 한번에 하나만 기록하고, startup-duration 을 주면 애플리케이션 시작과 함께 기록
+ * - 파일 이름은 서버가 정하고, directory 에는 최근 max-files 개만 남김 (디스크가 계속 차지 않도록)
+ */
+@Component
+public class PointRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PointRecorder.class);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final int maxFiles;
+    private final Duration operationThreshold;
+    private final Duration lockThreshold;
+    private final Duration tableThreshold;
+    private Recording current;      // 마지막 기록 (synchronized 안에서만 사용)
+
+    @Autowired
+    public PointRecorder(@Value("${point.recording.directory:data/recordings}") Path directory,
+                         @Value("${point.recording.max-duration:10m}") Duration maxDuration,
+                         @Value("${point.recording.max-files:10}") int maxFiles,
+                         @Value("${point.recording.operation-threshold:10ms}") Duration operationThreshold,
+                         @Value("${point.recording.lock-threshold:1ms}") Duration lockThreshold,
+                         @Value("${point.recording.table-threshold:100ms}") Duration tableThreshold,
+                         @Value("${point.recording.startup-duration:0s}") Duration startupDuration) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("point.recording.max-files 는 1 이상이어야 합니다.");
+        }
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxDuration = maxDuration;
+        this.maxFiles = maxFiles;
+        this.operationThreshold = operationThreshold;
+        this.lockThreshold = lockThreshold;
+        this.tableThreshold = tableThreshold;
+        if (!startupDuration.isZero()) {
+            log.info("JFR 기록 시작 : {}", start(startupDuration));
+        }
+    }
+
+    /**
+     * duration 동안 기록 시작
+     * - 이미 기록 중이면 IllegalStateException, duration 이 0 이하거나 max-duration 을 넘으면 IllegalArgumentException
+     */
+    public synchronized PointRecordingInfo start(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("기록 시간은 0 보다 크고 " + maxDuration + " 이하여야 합니다.");
+        }
+        if (current != null && current.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("이미 기록 중입니다.");
+        }
+        if (current != null) {
+            current.close();
+        }
+        try {
+            Files.createDirectories(directory);
+            deleteOldFiles();
+            String name = "point-" + LocalDateTime.now().format(FILE_TIME);
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(name);
+            recording.enable(PointOperationEvent.class).withThreshold(operationThreshold);
+            recording.enable(PointLockEvent.class).withThreshold(lockThreshold);
+            recording.enable(PointTableEvent.class).withThreshold(tableThreshold);
+            recording.setToDisk(true);
+            recording.setDestination(directory.resolve(name + ".jfr"));
+            recording.setDuration(duration);
+            recording.start();
+            current = recording;
+            return PointRecordingInfo.of(recording);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("JFR 기본 설정을 읽을 수 없습니다.", e);
+        }
+    }
+
+    // 새 기록까지 max-files 개가 되도록 오래된 기록 파일부터 삭제 (이름에 시각이 들어가 있어 이름순 = 시간순)
+    private void deleteOldFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith("point-") && name.endsWith(".jfr");
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i <= files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    // 기록을 멈추고 파일로 저장 (기록 중이 아니면 IllegalStateException)
+    public synchronized PointRecordingInfo stop() {
+        if (current == null || current.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("기록 중이 아닙니다.");
+        }
+        current.stop();
+        return PointRecordingInfo.of(current);
+    }
+
+    // 마지막 기록 상태 (기록한 적이 없으면 null)
+    public synchronized PointRecordingInfo current() {
+        return current == null ? null : PointRecordingInfo.of(current);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (current != null) {
+            if (current.getState() == RecordingState.RUNNING) {
+                current.stop();
+            }
+            current.close();
+        }
+    }
+}
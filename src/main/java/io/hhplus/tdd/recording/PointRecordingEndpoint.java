@@ -0,0 +1,59 @@
+package io.hhplus.tdd.recording;
+
+import io.hhplus.tdd.ErrorResponse;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 운영 중 JFR 기록 요청 (actuator 엔드포인트, 기본은 꺼져 있음)
+ * - management.endpoint.recordings.enabled=true 와 management.endpoints.web.exposure.include 에 recordings 를 추가해야 열림
+ * - management.server.port 를 주면 API 포트가 아닌 관리 포트에서만 받음
+ * - POST /actuator/recordings {"seconds": 60} : 60초 동안 기록 (max-duration 이하, 끝나면 point.recording.directory 에 .jfr 저장)
+ * - DELETE /actuator/recordings : 바로 멈추고 저장
+ * - GET /actuator/recordings : 마지막 기록 상태 (없으면 404)
+ */
+@Component
+@WebEndpoint(id = "recordings", enableByDefault = false)
+public class PointRecordingEndpoint {
+
+    private static final long DEFAULT_SECONDS = 60;
+
+    private final PointRecorder pointRecorder;
+
+    public PointRecordingEndpoint(PointRecorder pointRecorder) {
+        this.pointRecorder = pointRecorder;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable Long seconds) {
+        try {
+            return new WebEndpointResponse<>(pointRecorder.start(Duration.ofSeconds(seconds == null ? DEFAULT_SECONDS : seconds)));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(new ErrorResponse("400", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(new ErrorResponse("409", e.getMessage()), 409);
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Object> stop() {
+        try {
+            return new WebEndpointResponse<>(pointRecorder.stop());
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(new ErrorResponse("409", e.getMessage()), 409);
+        }
+    }
+
+    // 기록한 적이 없으면 null (404)
+    @ReadOperation
+    public PointRecordingInfo current() {
+        return pointRecorder.current();
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.recording;
+
+import jdk.jfr.Recording;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * JFR 기록 상태
+ * - destination : 기록이 끝나면 .jfr 파일이 저장되는 경로
+ */
+public record PointRecordingInfo(
+        long id,
+        String name,
+        String state,
+        Instant startTime,
+        long durationSeconds,
+        String destination
+) {
+
+    static PointRecordingInfo of(Recording recording) {
+        Path destination = recording.getDestination();
+        return new PointRecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration() == null ? 0 : recording.getDuration().toSeconds(),
+                destination == null ? null : destination.toAbsolutePath().toString());
+    }
+}
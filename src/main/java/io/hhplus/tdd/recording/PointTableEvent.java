@@ -0,0 +1,41 @@
+package io.hhplus.tdd.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * UserPointTable / PointHistoryTable 호출 한번
+ * - 이벤트 시간이 threshold 이상인 것만 기록 (point.recording.table-threshold)
+ */
+@Name("hhplus.PointTable")
+@Label("Point Table Call")
+@Category({"hhplus", "Point"})
+@Description("테이블 호출")
+@Threshold("100 ms")
+@StackTrace(false)
+public final class PointTableEvent extends jdk.jfr.Event {
+
+    @Label("Table")
+    public String table;
+
+    @Label("Method")
+    public String method;
+
+    @Label("User Id")
+    public long userId;
+
+    // begin() 이후 호출
+    public void record(String table, String method, long userId) {
+        end();
+        if (shouldCommit()) {
+            this.table = table;
+            this.method = method;
+            this.userId = userId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.hhplus.tdd.journal;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointLedger;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.mock;
+
+@DisplayName("포인트 저널 테스트")
+public class PointJournalTest {
+
+    private static final int SEGMENT_SIZE = JournalRecord.SIZE * 10;
+
+    @TempDir
+    Path directory;
+
+    private static PointHistory history(long id, long userId, long amount) {
+        return new PointHistory(id, userId, amount, TransactionType.CHARGE, 0);
+    }
+
+    @Test
+    @DisplayName("기록한 내역을 세그먼트가 넘어가도 순서대로 다시 읽음")
+    public void appendAndRecoverTest() throws Exception {
+        // given : 세그먼트 하나에 10건씩, 25건 기록
+        try (MappedPointJournal journal = new MappedPointJournal(directory, SEGMENT_SIZE, 1)) {
+            long sequence = 0;
+            for (long id = 1; id <= 25; id++) {
+                sequence = journal.append(history(id, id % 2, 100), id * 100);
+            }
+            journal.awaitDurable(sequence);
+        }
+
+        // when
+        PointSnapshot snapshot = PointSnapshot.recover(directory);
+
+        // then
+        assertThat(MappedPointJournal.segmentIndexes(directory)).containsExactly(1L, 2L, 3L);
+        assertThat(snapshot.recordCount()).isEqualTo(25);
+        assertThat(snapshot.users().get(1L).balance()).isEqualTo(1300);
+        assertThat(snapshot.users().get(0L).balance()).isEqualTo(1200);
+        assertThat(snapshot.users().get(1L).histories()).extracting(PointHistory::id).startsWith(1L, 3L, 5L).endsWith(25L);
+    }
+
+    @Test
+    @DisplayName("체크섬이 맞지 않는 레코드부터는 저널의 끝으로 봄")
+    public void tornRecordTest() throws Exception {
+        // given : 3건 기록 후 두번째 레코드 일부를 덮어씀
+        try (MappedPointJournal journal = new MappedPointJournal(directory, SEGMENT_SIZE, 1)) {
+            for (long id = 1; id <= 3; id++) {
+                journal.append(history(id, 1, 100), id * 100);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(MappedPointJournal.segmentPath(directory, 1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), JournalRecord.SIZE + 10);
+        }
+
+        // when
+        List<JournalRecord> records = new ArrayList<>();
+        MappedPointJournal.read(MappedPointJournal.segmentPath(directory, 1), records::add);
+
+        // then
+        assertThat(records).extracting(record -> record.history().id()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 만들면 접힌 세그먼트는 삭제되고, 스냅샷과 이후 저널로 복구")
+    public void snapshotTest() throws Exception {
+        // given
+        try (PointJournalManager manager = new PointJournalManager(directory, SEGMENT_SIZE, 1, 60_000)) {
+            for (long id = 1; id <= 15; id++) {
+                manager.append(history(id, 1, 100), id * 100);
+            }
+            PointSnapshot snapshot = manager.snapshot();
+            assertThat(snapshot.lastSegment()).isEqualTo(2);
+            for (long id = 16; id <= 20; id++) {
+                manager.append(history(id, 2, 10), (id - 15) * 10);
+            }
+        }
+
+        // when
+        UserPointTable userPointTable = new UserPointTable();
+        PointLedger pointLedger = new PointLedger(userPointTable, new PointMetrics());
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(mock(PointHistoryTable.class));
+        PointJournalManager.recover(directory, pointLedger, pointHistoryRepository);
+
+        // then : 스냅샷 이전 세그먼트는 없고, 잔액은 원장에 바로 복구되며 다음 내역 id 는 이어서 발급
+        assertThat(MappedPointJournal.segmentIndexes(directory)).allMatch(index -> index > 2);
+        assertThat(pointLedger.find(1L).get().point()).isEqualTo(1500);
+        assertThat(pointLedger.find(2L).get().point()).isEqualTo(50);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).hasSize(15);
+        assertThat(pointHistoryRepository.insert(2L, 10, TransactionType.CHARGE, 0).id()).isEqualTo(21);
+
+        // then : 테이블에는 비동기로 저장됨
+        pointLedger.flush();
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(1500);
+        assertThat(userPointTable.selectById(2L).point()).isEqualTo(50);
+        pointLedger.close();
+        pointHistoryRepository.close();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 내역은 스냅샷에 체크포인트로 접혀서 복구")
+    public void snapshotRetentionTest() throws Exception {
+        // given : 기록 시각이 0 인 내역 15건과 지금 기록한 내역 1건
+        long now = System.currentTimeMillis();
+        try (PointJournalManager manager = new PointJournalManager(directory, SEGMENT_SIZE, 1, 60_000, Duration.ofDays(30))) {
+            for (long id = 1; id <= 15; id++) {
+                manager.append(history(id, 1, 100), id * 100);
+            }
+            manager.append(new PointHistory(16, 1, 10, TransactionType.USE, now), 1490);
+
+            // when
+            PointSnapshot snapshot = manager.snapshot();
+
+            // then : 스냅샷에는 체크포인트와 최근 내역만 남음
+            PointSnapshot.UserState user = snapshot.users().get(1L);
+            assertThat(snapshot.recordCount()).isEqualTo(16);
+            assertThat(user.histories()).extracting(PointHistory::id).containsExactly(16L);
+            assertThat(user.checkpoint().lastId()).isEqualTo(15);
+            assertThat(user.checkpoint().totals().chargeAmount()).isEqualTo(1500);
+            assertThat(user.checkpoint().totals().chargeCount()).isEqualTo(15);
+        }
+
+        // when
+        PointLedger pointLedger = new PointLedger(new UserPointTable(), new PointMetrics());
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(mock(PointHistoryTable.class));
+        PointJournalManager.recover(directory, pointLedger, pointHistoryRepository);
+
+        // then : 잔액과 체크포인트, 남은 내역이 복구되고 다음 내역 id 는 이어서 발급
+        assertThat(pointLedger.find(1L).get().point()).isEqualTo(1490);
+        assertThat(pointHistoryRepository.balanceByUserId(1L)).isEqualTo(1490);
+        assertThat(pointHistoryRepository.checkpointByUserId(1L).lastId()).isEqualTo(15);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(16L);
+        assertThat(pointHistoryRepository.insert(1L, 10, TransactionType.CHARGE, now).id()).isEqualTo(17);
+        pointLedger.close();
+        pointHistoryRepository.close();
+    }
+
+    @Test
+    @DisplayName("fsync 가 실패하면 기다리던 요청은 멈추지 않고 실패하고, 다시 성공하면 정상 처리")
+    public void fsyncFailureTest() throws Exception {
+        // given : fsync 가 실패하는 저널
+        AtomicBoolean failing = new AtomicBoolean(true);
+        try (MappedPointJournal journal = new MappedPointJournal(directory, SEGMENT_SIZE, 1) {
+            @Override
+            void sync(MappedByteBuffer target) {
+                if (failing.get()) {
+                    throw new UncheckedIOException(new IOException("disk error"));
+                }
+                super.sync(target);
+            }
+        }) {
+            long sequence = journal.append(history(1, 1, 100), 100);
+
+            // when, then : 실패하는 동안은 예외
+            assertThatThrownBy(() -> CompletableFuture.runAsync(() -> journal.awaitDurable(sequence)).get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+
+            // when, then : 다시 성공하면 (재시도 간격 후) 반영됨
+            failing.set(false);
+            assertThat(awaitRecovered(journal, sequence)).isTrue();
+            long next = journal.append(history(2, 1, 100), 200);
+            CompletableFuture.runAsync(() -> journal.awaitDurable(next)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static boolean awaitRecovered(MappedPointJournal journal, long sequence) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            try {
+                journal.awaitDurable(sequence);
+                return true;
+            } catch (IllegalStateException e) {
+                Thread.sleep(10);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * 부하 테스트 요청 종류
+ */
+public enum LoadOperation {
+    POINT,          // GET /point/{id}
+    HISTORIES,      // GET /point/{id}/histories
+    CHARGE,         // PATCH /point/{id}/charge
+    USE;            // PATCH /point/{id}/use
+
+    static final long AMOUNT = 1;
+
+    HttpRequest request(String baseUrl, long userId) {
+        return switch (this) {
+            case POINT -> HttpRequest.newBuilder(URI.create(baseUrl + "/point/" + userId)).GET().build();
+            case HISTORIES -> HttpRequest.newBuilder(URI.create(baseUrl + "/point/" + userId + "/histories?limit=20")).GET().build();
+            case CHARGE -> patch(baseUrl + "/point/" + userId + "/charge", AMOUNT);
+            case USE -> patch(baseUrl + "/point/" + userId + "/use", AMOUNT);
+        };
+    }
+
+    static HttpRequest patch(String url, long amount) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 (JSON 으로 저장해 실행 결과끼리 비교)
+ * - 지연 시간은 ms 단위, 요청을 보내기로 예정된 시각부터 응답을 모두 받을 때까지
+ *   (앞 요청이 밀려 늦게 보낸 시간도 포함, coordinated omission 보정)
+ */
+public record LoadTestReport(
+        Instant startedAt,
+        LoadTestSettings settings,
+        long requests,
+        long errors,
+        double throughput,
+        Latency latency,
+        List<OperationReport> operations
+) {
+
+    // 요청 종류별 결과 (status : 응답 코드별 수, 연결 실패 등은 0)
+    public record OperationReport(
+            LoadOperation operation,
+            long requests,
+            long errors,
+            double throughput,
+            Latency latency,
+            Map<Integer, Long> status
+    ) {
+    }
+
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    histogram.getMean() / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 load.* , gradle 에서는 -Pload.*)
+ * - concurrency  : 동시에 요청을 보내는 스레드 수
+ * - rate         : 초당 목표 요청 수 (전체, 스레드마다 나눠서 일정 간격으로 보냄)
+ * - duration     : 측정 시간 (ISO-8601, 예: PT30S), warmup 은 측정 전에 버리는 시간
+ * - users        : 유저 수, distribution : 유저 id 분포 (uniform | zipfian | single)
+ * - mix          : 요청 비율 (예: point=40,histories=20,charge=30,use=10)
+ * - initialPoint : 시작 전에 유저마다 충전해 두는 포인트 (사용 요청이 잔액 부족으로 실패하지 않도록)
+ */
+public record LoadTestSettings(
+        int concurrency,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        String distribution,
+        Map<LoadOperation, Integer> mix,
+        long initialPoint,
+        String output
+) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.concurrency", 32),
+                Integer.getInteger("load.rate", 2000),
+                Duration.parse(System.getProperty("load.warmup", "PT3S")),
+                Duration.parse(System.getProperty("load.duration", "PT10S")),
+                Integer.getInteger("load.users", 1000),
+                System.getProperty("load.distribution", "uniform"),
+                parseMix(System.getProperty("load.mix", "point=40,histories=20,charge=30,use=10")),
+                Long.getLong("load.initial-point", 1_000_000_000L),
+                System.getProperty("load.output", "build/load-test")
+        );
+    }
+
+    public LoadTestSettings {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("초당 목표 요청 수는 0 보다 커야 합니다. : " + rate);
+        }
+    }
+
+    // 스레드 하나가 요청을 보내는 간격
+    long intervalNanos() {
+        return Math.max(1, TimeUnit.SECONDS.toNanos(1) * concurrency / rate);
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("요청 비율 형식이 올바르지 않습니다. : " + mix);
+            }
+            weights.put(LoadOperation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("요청 비율의 합은 0 보다 커야 합니다. : " + mix);
+        }
+        return weights;
+    }
+}
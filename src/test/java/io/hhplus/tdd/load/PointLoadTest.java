@@ -0,0 +1,243 @@
+package io.hhplus.tdd.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.hhplus.tdd.point.UserKeyDistribution;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP 부하 테스트 (./gradlew loadTest, 일반 test 에서는 제외)
+ * - 랜덤 포트로 서버를 띄우고 concurrency 개의 스레드가 rate 를 나눠서 정해진 시각마다 요청을 보냄 (open-loop)
+ * - 지연 시간은 예정 시각부터 재서 응답이 느려져 다음 요청이 밀린 시간도 포함 (coordinated omission 보정)
+ * - 요청 종류별 지연 시간을 스레드마다 HdrHistogram 에 기록하고 마지막에 합침 (측정 중 스레드간 경합 없음)
+ * - 결과는 load.output 디렉터리의 JSON 파일로 저장하고 로그에는 파일 경로와 요약만 남김
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PointLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLoadTest.class);
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("조회/내역/충전/사용 혼합 부하")
+    void mixedLoadTest() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String baseUrl = "http://localhost:" + port;
+        ExecutorService executorService = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            prepare(settings, baseUrl, executorService);
+
+            // warmup 은 측정 없이 실행하고 버림
+            run(settings, baseUrl, executorService, settings.warmup());
+            Instant startedAt = Instant.now();
+            List<Worker> workers = run(settings, baseUrl, executorService, settings.duration());
+
+            LoadTestReport report = report(settings, startedAt, workers);
+            Path file = write(settings, report);
+            log.info("부하 테스트 결과 : {} (요청 {}, 실패 {}, {} req/s, p99 {} ms)", file.toAbsolutePath(),
+                    report.requests(), report.errors(), String.format("%.1f", report.throughput()), report.latency().p99());
+
+            assertThat(report.requests()).isPositive();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    // 유저마다 initialPoint 를 미리 충전 (스레드 수만큼 나눠서)
+    private void prepare(LoadTestSettings settings, String baseUrl, ExecutorService executorService) throws Exception {
+        AtomicLong next = new AtomicLong(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            futures.add(executorService.submit(() -> {
+                for (long id = next.getAndIncrement(); id <= settings.users(); id = next.getAndIncrement()) {
+                    HttpResponse<Void> response = client.send(LoadOperation.patch(baseUrl + "/point/" + id + "/charge", settings.initialPoint()),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("초기 충전 실패 : " + id + " (" + response.statusCode() + ")");
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private List<Worker> run(LoadTestSettings settings, String baseUrl, ExecutorService executorService, Duration duration) throws Exception {
+        long interval = settings.intervalNanos();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Worker> workers = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            // 스레드마다 시작 시각을 간격 안에서 고르게 흩어 요청이 한꺼번에 몰리지 않도록
+            Worker worker = new Worker(settings, baseUrl, start + interval * i / settings.concurrency(), interval, deadline);
+            workers.add(worker);
+            futures.add(executorService.submit(worker));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return workers;
+    }
+
+    private LoadTestReport report(LoadTestSettings settings, Instant startedAt, List<Worker> workers) {
+        double seconds = settings.duration().toNanos() / 1e9;
+        Histogram all = new Histogram(HIGHEST_LATENCY, 3);
+        List<LoadTestReport.OperationReport> operations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (LoadOperation operation : settings.mix().keySet()) {
+            Histogram histogram = new Histogram(HIGHEST_LATENCY, 3);
+            Map<Integer, Long> status = new TreeMap<>();
+            long operationErrors = 0;
+            for (Worker worker : workers) {
+                Worker.Stats stats = worker.stats.get(operation);
+                histogram.add(stats.histogram);
+                stats.status.forEach((code, count) -> status.merge(code, count, Long::sum));
+                operationErrors += stats.errors;
+            }
+            all.add(histogram);
+            long operationRequests = histogram.getTotalCount();
+            operations.add(new LoadTestReport.OperationReport(operation, operationRequests, operationErrors,
+                    operationRequests / seconds, LoadTestReport.Latency.of(histogram), status));
+            requests += operationRequests;
+            errors += operationErrors;
+        }
+        return new LoadTestReport(startedAt, settings, requests, errors, requests / seconds, LoadTestReport.Latency.of(all), operations);
+    }
+
+    private Path write(LoadTestSettings settings, LoadTestReport report) throws Exception {
+        Path directory = Path.of(settings.output());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("point-load-" + FILE_TIME.format(report.startedAt()) + ".json");
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), report);
+        return file;
+    }
+
+    // 요청을 보내는 스레드 하나 (기록은 자기 히스토그램에만)
+    private final class Worker implements Callable<Void> {
+        private final String baseUrl;
+        private final long start;
+        private final long interval;
+        private final long deadline;
+        private final UserKeyDistribution keys;
+        private final LoadOperation[] operations;
+        private final int[] cumulativeWeights;
+        private final Map<LoadOperation, Stats> stats = new EnumMap<>(LoadOperation.class);
+
+        private Worker(LoadTestSettings settings, String baseUrl, long start, long interval, long deadline) {
+            this.baseUrl = baseUrl;
+            this.start = start;
+            this.interval = interval;
+            this.deadline = deadline;
+            this.keys = new UserKeyDistribution(settings.distribution(), settings.users());
+            this.operations = settings.mix().keySet().toArray(LoadOperation[]::new);
+            this.cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += settings.mix().get(operations[i]);
+                cumulativeWeights[i] = sum;
+                stats.put(operations[i], new Stats());
+            }
+        }
+
+        @Override
+        public Void call() {
+            // 응답이 늦어도 예정 시각은 밀리지 않음, 늦어진 요청은 바로 이어서 보내고 그만큼 지연 시간에 포함
+            for (long scheduled = start; scheduled < deadline; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return null;
+                    }
+                }
+                LoadOperation operation = nextOperation();
+                HttpRequest request = operation.request(baseUrl, keys.next());
+                Stats operationStats = stats.get(operation);
+                int statusCode = 0;
+                try {
+                    statusCode = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                } catch (Exception e) {
+                    // 연결 실패 등은 status 0 으로 기록
+                }
+                operationStats.histogram.recordValue(Math.min(System.nanoTime() - scheduled, HIGHEST_LATENCY));
+                operationStats.status.merge(statusCode, 1L, Long::sum);
+                if (statusCode != 200) {
+                    operationStats.errors++;
+                }
+            }
+            return null;
+        }
+
+        private LoadOperation nextOperation() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        private static final class Stats {
+            private final Histogram histogram = new Histogram(HIGHEST_LATENCY, 3);
+            private final Map<Integer, Long> status = new TreeMap<>();
+            private long errors;
+        }
+    }
+}
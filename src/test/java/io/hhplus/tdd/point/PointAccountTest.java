@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 계정 조회 테스트")
+public class PointAccountTest {
+
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> new UserPoint(invocation.getArgument(0), 0, 0));
+        pointService = new PointService(userPointTable, mock(PointHistoryTable.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("잔액과 최근 내역 limit 개를 오래된 것부터 조회")
+    public void accountTest() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            pointService.chargePoint(1, 100L * i);
+        }
+
+        // when
+        PointAccount account = pointService.findAccountById(1, 2);
+
+        // then
+        assertThat(account.point().point()).isEqualTo(1500);
+        assertThat(account.histories()).extracting(PointHistory::amount).containsExactly(400L, 500L);
+    }
+
+    @Test
+    @DisplayName("충전/사용이 동시에 반영되는 중에도 잔액과 내역은 같은 시점 기준")
+    public void consistentSnapshotTest() throws Exception {
+        // given : 4 스레드가 충전과 사용을 반복
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<?>[] writers = new CompletableFuture<?>[4];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = CompletableFuture.runAsync(() -> {
+                while (running.get()) {
+                    pointService.chargePoint(1, 10);
+                    try {
+                        pointService.usePoint(1, 5);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }, executorService);
+        }
+
+        // when, then : 잔액은 항상 조회된 내역의 합과 같음 (처음 잔액 0, 내역은 모두 조회)
+        try {
+            for (int i = 0; i < 2000; i++) {
+                PointAccount account = pointService.findAccountById(1, Integer.MAX_VALUE);
+                long net = account.histories().stream()
+                        .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                        .sum();
+                assertThat(account.point().point()).isEqualTo(net);
+            }
+        } finally {
+            running.set(false);
+            CompletableFuture.allOf(writers).get(10, TimeUnit.SECONDS);
+            executorService.shutdown();
+        }
+    }
+}
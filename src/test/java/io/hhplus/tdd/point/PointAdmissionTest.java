@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.TooManyRequestsException;
+import io.hhplus.tdd.journal.PointJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.mock;
+
+@DisplayName("요청 수 제한 테스트")
+public class PointAdmissionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PointAdmission admission = new PointAdmission(2, 3, 100, 5, new PointMetrics(registry));
+
+    @Test
+    @DisplayName("유저별 한도를 넘으면 바로 거절하고, 처리가 끝나면 다시 받음")
+    public void perUserLimitTest() {
+        // given : 1번 유저 요청 2건 처리 중
+        PointAdmission.Permit first = admission.acquire(1);
+        PointAdmission.Permit second = admission.acquire(1);
+
+        // when, then : 세번째 요청은 거절, 다른 유저는 받음
+        assertThatThrownBy(() -> admission.acquire(1))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+        assertThatNoException().isThrownBy(() -> admission.acquire(2).close());
+
+        // 하나가 끝나면 다시 받고, 모두 끝나면 유저 카운터도 사라짐 (같은 Permit 을 여러번 닫아도 한번만 해제)
+        first.close();
+        first.close();
+        admission.acquire(1).close();
+        second.close();
+        assertThat(admission.pending(1)).isZero();
+        assertThat(admission.pending()).isZero();
+        assertThat(registry.get("point.admission.rejections").tag("scope", "user").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전체 한도를 넘으면 유저와 상관없이 거절")
+    public void globalLimitTest() {
+        // given : 서로 다른 유저 3명의 요청 처리 중
+        for (long id = 1; id <= 3; id++) {
+            admission.acquire(id);
+        }
+
+        // when, then
+        assertThatThrownBy(() -> admission.acquire(4)).isInstanceOf(TooManyRequestsException.class);
+        assertThat(admission.pending()).isEqualTo(3);
+        assertThat(admission.pending(4)).isZero();
+        assertThat(registry.get("point.admission.rejections").tag("scope", "global").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("executor 대기열에 있는 비동기 요청도 유저별 한도에 포함")
+    public void asyncPendingTest() throws Exception {
+        // given : 스레드 하나짜리 executor 를 막아 두고 1번 유저 요청 2건을 대기열에 넣음
+        PointMetrics pointMetrics = new PointMetrics(registry);
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(mock(PointHistoryTable.class), pointMetrics);
+        PointLedger pointLedger = new PointLedger(userPointTable, pointMetrics);
+        PointService pointService = new PointService(pointHistoryRepository,
+                new UserPointCache(), pointMetrics, PointJournal.none(), pointLedger, admission);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<UserPointResponse> first = pointService.chargePointAsync(1, 100, executor);
+        CompletableFuture<UserPointResponse> second = pointService.chargePointAsync(1, 100, executor);
+
+        // when, then : 세번째는 바로 거절, 대기열이 풀리면 모두 처리되고 한도도 돌려받음
+        assertThatThrownBy(() -> pointService.chargePointAsync(1, 100, executor)).isInstanceOf(TooManyRequestsException.class);
+        blocked.countDown();
+        assertThat(second.get(1, TimeUnit.SECONDS).getUserPoint().point()).isEqualTo(200);
+        assertThat(first.join().getUserPoint().point()).isEqualTo(100);
+        await(() -> admission.pending() == 0);
+        executor.shutdown();
+        pointLedger.close();
+        pointHistoryRepository.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
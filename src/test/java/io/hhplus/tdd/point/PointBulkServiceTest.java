@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 일괄 처리 서비스 테스트")
+public class PointBulkServiceTest {
+
+    private PointService pointService;
+    private PointBulkService pointBulkService;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final Map<Long, List<Long>> calls = new ConcurrentHashMap<>();     // 유저별 처리된 금액 순서
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pointService = mock(PointService.class);
+        given(pointService.chargePoint(anyLong(), anyLong())).willAnswer(invocation -> response(invocation.getArgument(0), invocation.getArgument(1)));
+        given(pointService.usePoint(anyLong(), anyLong())).willAnswer(invocation -> {
+            if ((long) invocation.getArgument(1) > 10000) {
+                throw new PointNotEnoughException("포인트가 부족합니다.");
+            }
+            return response(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        pointBulkService = new PointBulkService(pointService, executor, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private UserPointResponse response(long userId, long amount) {
+        calls.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>()).add(amount);
+        UserPointResponse response = new UserPointResponse();
+        response.setUserPoint(new UserPoint(userId, amount, 0));
+        return response;
+    }
+
+    @Test
+    @DisplayName("유저별 요청 순서를 지키고, 실패한 건만 실패로 반환")
+    public void executeTest() {
+        // given : 1번 유저 충전 3건, 2번 유저 사용 2건 (두번째는 잔액 부족)
+        List<PointOperation> operations = List.of(
+                new PointOperation(1, 100, TransactionType.CHARGE),
+                new PointOperation(2, 500, TransactionType.USE),
+                new PointOperation(1, 200, TransactionType.CHARGE),
+                new PointOperation(2, 50000, TransactionType.USE),
+                new PointOperation(1, 300, TransactionType.CHARGE)
+        );
+
+        // when
+        List<PointOperationResult> results = pointBulkService.execute(operations);
+
+        // then : 결과는 요청 순서대로, 잔액 부족 건만 실패
+        assertThat(results).extracting(PointOperationResult::success).containsExactly(true, true, true, false, true);
+        assertThat(results.get(3).message()).isEqualTo("포인트가 부족합니다.");
+        assertThat(calls.get(1L)).containsExactly(100L, 200L, 300L);
+    }
+
+    @Test
+    @DisplayName("최대 요청 수를 넘으면 처리하지 않음")
+    public void executeTooManyTest() {
+        // given
+        List<PointOperation> operations = Collections.nCopies(101, new PointOperation(1, 100, TransactionType.CHARGE));
+
+        // when, then
+        assertThatIllegalArgumentException().isThrownBy(() -> pointBulkService.execute(operations));
+        verifyNoInteractions(pointService);
+    }
+}
@@ -1,13 +1,20 @@
 package io.hhplus.tdd.point;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.util.List;
 
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -17,6 +24,9 @@ public class PointControllerTest {
     @Autowired
     MockMvc mvc;
 
+    @Autowired
+    PointService pointService;
+
     /**
      * 통합 테스트 현재 미구현
      */
@@ -32,4 +42,209 @@ public class PointControllerTest {
                 .param("amount", String.valueOf(amount))
             );
     }
+
+    @Test
+    @DisplayName("충전 api 는 비동기로 처리하고 결과 잔액을 응답")
+    void chargeAsyncTest() throws Exception {
+        // given
+        long id = 104;
+        pointService.chargePoint(id, 1000);
+
+        // when : 요청 스레드는 바로 반환되고 처리 결과는 asyncDispatch 로 받음
+        MvcResult result = mvc.perform(patch("/point/{id}/charge", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.point").value(1500));
+    }
+
+    @Test
+    @DisplayName("비동기 사용 요청이 잔액 부족으로 실패하면 동기 요청과 같은 에러 응답")
+    void useAsyncFailTest() throws Exception {
+        // given
+        long id = 105;
+        pointService.chargePoint(id, 1000);
+
+        // when
+        MvcResult result = mvc.perform(patch("/point/{id}/use", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then : 잔액은 그대로
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("500"));
+        assertThat(pointService.selectPointById(id).point()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 재시도한 충전은 한번만 반영")
+    void idempotentChargeTest() throws Exception {
+        // given
+        long id = 106;
+
+        // when : 같은 키로 두번 충전
+        for (int i=0; i<2; i++) {
+            MvcResult result = mvc.perform(patch("/point/{id}/charge", id)
+                            .header("Idempotency-Key", "charge-106")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(1000));
+        }
+
+        // then : 잔액과 내역은 한번만 반영됨
+        assertThat(pointService.selectPointById(id).point()).isEqualTo(1000);
+        assertThat(pointService.findAllHistoryById(id)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("포인트 내역 cursor 페이지 조회")
+    void historyPageTest() throws Exception {
+        // given : 내역 3건
+        long id = 101;
+        for (int i=1; i<=3; i++) {
+            pointService.chargePoint(id, 1000L * i);
+        }
+
+        // when, then : 2건씩 조회하면 첫 페이지는 2건 + nextCursor, 다음 페이지는 1건
+        MvcResult first = mvc.perform(get("/point/{id}/histories", id).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNumber())
+                .andReturn();
+        Number nextCursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        mvc.perform(get("/point/{id}/histories", id).param("cursor", nextCursor.toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories.length()").value(1))
+                .andExpect(jsonPath("$.histories[0].amount").value(3000))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("포인트와 최근 내역을 한번에 조회")
+    void accountTest() throws Exception {
+        // given : 충전 3건
+        long id = 108;
+        for (int i=1; i<=3; i++) {
+            pointService.chargePoint(id, 1000L * i);
+        }
+
+        // when, then : 최근 2건
+        mvc.perform(get("/point/{id}/account", id)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point.point").value(6000))
+                .andExpect(jsonPath("$.histories.length()").value(2))
+                .andExpect(jsonPath("$.histories[1].amount").value(3000));
+    }
+
+    @Test
+    @DisplayName("포인트 내역 기록 시각 범위 조회")
+    void historyRangeTest() throws Exception {
+        // given : 내역 3건
+        long id = 107;
+        for (int i=1; i<=3; i++) {
+            pointService.chargePoint(id, 1000L * i);
+        }
+        List<PointHistory> histories = pointService.findAllHistoryById(id);
+        long from = histories.get(2).updateMillis();
+        long expected = histories.stream().filter(history -> history.updateMillis() >= from).count();
+
+        // when, then : 마지막 내역 시각부터 조회 (같은 ms 에 기록된 내역은 함께 조회됨)
+        mvc.perform(get("/point/{id}/histories", id)
+                        .param("from", String.valueOf(from))
+                        .param("to", String.valueOf(from + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories.length()").value(expected))
+                .andExpect(jsonPath("$.histories[%d].amount", expected - 1).value(3000))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("포인트 충전/사용 요약 조회")
+    void summaryTest() throws Exception {
+        // given : 오늘 충전 2건, 사용 1건
+        long id = 103;
+        pointService.chargePoint(id, 1000);
+        pointService.chargePoint(id, 2000);
+        pointService.usePoint(id, 500);
+
+        // when, then
+        mvc.perform(get("/point/{id}/summary", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.chargeAmount").value(3000))
+                .andExpect(jsonPath("$.total.chargeCount").value(2))
+                .andExpect(jsonPath("$.total.useAmount").value(500))
+                .andExpect(jsonPath("$.daily.useCount").value(1))
+                .andExpect(jsonPath("$.monthly.chargeAmount").value(3000));
+    }
+
+    @Test
+    @DisplayName("포인트 내역 NDJSON 스트리밍 조회")
+    void historyStreamTest() throws Exception {
+        // given : 내역 3건
+        long id = 102;
+        for (int i=1; i<=3; i++) {
+            pointService.chargePoint(id, 1000L * i);
+        }
+
+        // when : NDJSON 으로 요청
+        MvcResult result = mvc.perform(get("/point/{id}/histories", id).accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // then : 한 줄에 내역 하나씩 3줄
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"amount\":1000");
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 이체하거나 0 이하 금액을 이체하면 400")
+    void invalidTransferTest() throws Exception {
+        // when, then
+        mvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":109,\"toUserId\":109,\"amount\":100}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+        mvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":109,\"toUserId\":110,\"amount\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+    }
+
+    @Test
+    @DisplayName("limit 이 1 미만이거나 from 이 to 보다 크면 400")
+    void invalidHistoryQueryTest() throws Exception {
+        // given
+        long id = 111;
+
+        // when, then
+        mvc.perform(get("/point/{id}/histories", id).param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+        mvc.perform(get("/point/{id}/account", id).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/point/{id}/histories", id)
+                        .param("from", "2000")
+                        .param("to", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+    }
 }
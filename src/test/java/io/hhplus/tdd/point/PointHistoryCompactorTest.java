@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.journal.PointJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 내역 접기 테스트")
+public class PointHistoryCompactorTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final long NOW = Instant.parse("2026-10-17T00:00:00Z").toEpochMilli();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PointMetrics pointMetrics = new PointMetrics(registry);
+    private final PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(mock(PointHistoryTable.class), pointMetrics);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryRepository.close();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 내역만 체크포인트로 접히고 최근 내역과 잔액은 그대로")
+    public void compactTest() {
+        // given : 10일 전 충전 3건 + 사용 1건, 오늘 충전 1건 (보관 기간 7일)
+        for (int n=1; n<=3; n++) {
+            pointHistoryRepository.insert(1, 1000, TransactionType.CHARGE, NOW - 10 * DAY + n);
+        }
+        pointHistoryRepository.insert(1, 500, TransactionType.USE, NOW - 10 * DAY + 4);
+        PointHistory recent = pointHistoryRepository.insert(1, 200, TransactionType.CHARGE, NOW - 1000);
+        long balance = pointHistoryRepository.balanceByUserId(1);
+        PointHistoryCompactor compactor = new PointHistoryCompactor(pointHistoryRepository, pointMetrics,
+                Duration.ofDays(7), Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+        // when
+        long compacted = compactor.compact();
+
+        // then : 접힌 4건은 체크포인트로, 조회에는 최근 1건만 남고, 다시 실행해도 변화 없음
+        assertThat(compacted).isEqualTo(4);
+        assertThat(pointHistoryRepository.checkpointByUserId(1))
+                .isEqualTo(new PointHistoryCheckpoint(1, recent.id() - 1, NOW - 10 * DAY + 4, new PointTotals(3000, 3, 500, 1)));
+        assertThat(pointHistoryRepository.selectAllByUserId(1)).containsExactly(recent);
+        assertThat(pointHistoryRepository.balanceByUserId(1)).isEqualTo(balance).isEqualTo(2700);
+        assertThat(compactor.compact()).isZero();
+        assertThat(registry.get("point.history.compacted").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("충전/사용 중에 계속 접어도 내역으로 계산한 잔액이 테이블 잔액과 같다")
+    public void concurrentCompactTest() throws Exception {
+        // given : 테이블 대신 map 에 잔액 저장, 보관 기간 0 (지금 이전 내역은 모두 접음)
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, table.getOrDefault(id, 0L), 0);
+        });
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            table.put(invocation.getArgument(0), invocation.getArgument(1));
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0);
+        });
+        PointLedger pointLedger = new PointLedger(userPointTable, pointMetrics);
+        PointService pointService = new PointService(pointHistoryRepository, new UserPointCache(), pointMetrics,
+                PointJournal.none(), pointLedger, PointAdmission.unlimited(pointMetrics));
+        PointHistoryCompactor compactor = new PointHistoryCompactor(pointHistoryRepository, pointMetrics, Duration.ZERO, Clock.systemUTC());
+
+        int threadCnt = 8;
+        int userCnt = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread compacting = new Thread(() -> {
+            while (running.get()) {
+                compactor.compact();
+            }
+        });
+        compacting.start();
+
+        // when : 각 스레드가 2000번씩 충전 또는 사용 (잔액 부족은 무시)
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int n=0; n<2000; n++) {
+                        long id = n % userCnt + 1;
+                        long amount = ThreadLocalRandom.current().nextInt(1, 100);
+                        try {
+                            if (ThreadLocalRandom.current().nextBoolean()) {
+                                pointService.chargePoint(id, amount);
+                            } else {
+                                pointService.usePoint(id, amount);
+                            }
+                        } catch (Exception ignored) {
+
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        running.set(false);
+        compacting.join();
+        pointLedger.flush();
+
+        // then : 접힌 내역이 있고, 유저별로 체크포인트 + 남은 내역 = 테이블 잔액
+        assertThat(registry.get("point.history.compacted").counter().count()).isPositive();
+        for (long id = 1; id <= userCnt; id++) {
+            assertThat(pointHistoryRepository.balanceByUserId(id)).isEqualTo(table.get(id));
+        }
+        pointLedger.close();
+    }
+}
@@ -0,0 +1,317 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 내역 저장소 테스트")
+public class PointHistoryRepositoryTest {
+
+    private PointHistoryRepository pointHistoryRepository;
+    private final List<PointHistory> tableRows = new CopyOnWriteArrayList<>();     // 테이블에 실제로 저장된 순서
+
+    @BeforeEach
+    void setUp() {
+        // 테이블은 지연 없이 저장 순서만 기록하도록 설정
+        PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+        AtomicLong cursor = new AtomicLong(1);
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            PointHistory history = new PointHistory(cursor.getAndIncrement(), invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+            tableRows.add(history);
+            return history;
+        });
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryRepository.close();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 여러 유저의 내역을 저장해도 유저별로 순서대로 조회된다")
+    public void concurrentInsertTest() throws InterruptedException {
+        // given
+        int threadCnt = 8;
+        int userCnt = 10;
+        int insertCnt = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+
+        // when : 각 스레드가 모든 유저에게 insertCnt 번씩 내역 저장
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int n=0; n<insertCnt; n++) {
+                        pointHistoryRepository.insert(n % userCnt + 1, 100, TransactionType.CHARGE, 0);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then : 유저별 내역 수가 맞고, 본인 내역만 id 순서대로 조회됨
+        for (int i=1; i<=userCnt; i++) {
+            long userId = i;
+            List<PointHistory> result = pointHistoryRepository.selectAllByUserId(userId);
+            assertThat(result).hasSize(threadCnt * insertCnt / userCnt);
+            assertThat(result).allMatch(history -> history.userId() == userId);
+            assertThat(result).isSortedAccordingTo((a, b) -> Long.compare(a.id(), b.id()));
+        }
+        assertThat(pointHistoryRepository.selectAllByUserId(userCnt + 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장된 내역은 요청 스레드 밖에서 유저별 순서대로 테이블에 저장된다")
+    public void writeBehindTest() throws InterruptedException {
+        // given : 두 유저의 내역을 번갈아 저장
+        for (int n=1; n<=200; n++) {
+            pointHistoryRepository.insert(n % 2 + 1, n, TransactionType.CHARGE, 0);
+        }
+
+        // when : 테이블 저장이 끝날 때까지 대기
+        pointHistoryRepository.flush();
+
+        // then : 모든 내역이 저장되었고, 유저별 저장 순서가 조회 순서와 같음
+        assertThat(tableRows).hasSize(200);
+        for (int i=1; i<=2; i++) {
+            long userId = i;
+            List<Long> stored = tableRows.stream().filter(history -> history.userId() == userId).map(PointHistory::amount).toList();
+            List<Long> selected = pointHistoryRepository.selectAllByUserId(userId).stream().map(PointHistory::amount).toList();
+            assertThat(stored).isEqualTo(selected);
+        }
+    }
+
+    @Test
+    @DisplayName("테이블 저장 대기열이 가득 차면 기다리지 않고 거절하고 내역도 추가하지 않는다")
+    public void queueFullTest() throws InterruptedException {
+        // given : 테이블 저장이 멈춘 상태에서 대기열 2건
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTable blockedTable = mock(PointHistoryTable.class);
+        given(blockedTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        PointHistoryRepository repository = new PointHistoryRepository(blockedTable, new PointMetrics(), 2);
+        repository.insert(1, 100, TransactionType.CHARGE, 0);
+        repository.insert(1, 200, TransactionType.CHARGE, 0);
+
+        // when, then
+        assertThatThrownBy(() -> repository.insert(1, 300, TransactionType.CHARGE, 0)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(repository.selectAllByUserId(1)).extracting(PointHistory::amount).containsExactly(100L, 200L);
+
+        release.countDown();
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("대기열 크기는 측정한 테이블 저장 속도 x max-lag 로 줄어들고, 한 배치보다 작아지지는 않는다")
+    public void drainRateLimitTest() throws InterruptedException {
+        // given : insert 한번에 10ms 이상 (초당 100건 이하), max-lag 2초 -> 대기열 200 이하
+        PointHistoryTable slowTable = mock(PointHistoryTable.class);
+        given(slowTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            Thread.sleep(10);
+            return null;
+        });
+        PointHistoryRepository repository = new PointHistoryRepository(slowTable, new PointMetrics(), 10_000, Duration.ofSeconds(2), ZoneOffset.UTC);
+        for (int n=1; n<=5; n++) {
+            repository.insert(1, 100, TransactionType.CHARGE, 0);
+        }
+        repository.flush();
+
+        // when, then : 최대 크기(10,000) 보다 훨씬 작은 201건부터 거절, 한 배치(100건)는 받음
+        assertThatThrownBy(() -> repository.reserve(201)).isInstanceOf(RejectedExecutionException.class);
+        repository.reserve(100);
+        repository.cancel(100);
+
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("배열로 보관한 내역을 조회하면 저장한 값 그대로 반환된다")
+    public void columnarViewTest() {
+        // given : 배열이 늘어나도록 충전/사용 내역을 번갈아 저장
+        for (int n=1; n<=10; n++) {
+            pointHistoryRepository.insert(1, n * 100, n % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, n * 1000L);
+        }
+
+        // when
+        List<PointHistory> all = pointHistoryRepository.selectAllByUserId(1);
+        PointHistoryPage page = pointHistoryRepository.selectPageByUserId(1, all.get(2).id(), 3);
+
+        // then
+        assertThat(all).hasSize(10);
+        assertThat(all.get(3)).isEqualTo(new PointHistory(all.get(3).id(), 1, 400, TransactionType.USE, 4000));
+        assertThat(all.get(4)).isEqualTo(new PointHistory(all.get(4).id(), 1, 500, TransactionType.CHARGE, 5000));
+        assertThat(page.histories()).isEqualTo(all.subList(3, 6));
+        assertThat(page.nextCursor()).isEqualTo(all.get(5).id());
+    }
+
+    @Test
+    @DisplayName("내역을 저장할 때마다 전체, 일별, 월별 충전/사용 집계가 갱신된다")
+    public void summaryTest() {
+        // given : 10월 16일 충전 2건, 10월 17일 충전 1건 + 사용 1건, 9월 30일 사용 1건
+        long oct16 = millis(LocalDate.of(2026, 10, 16));
+        long oct17 = millis(LocalDate.of(2026, 10, 17));
+        pointHistoryRepository.insert(1, 1000, TransactionType.CHARGE, oct16);
+        pointHistoryRepository.insert(1, 2000, TransactionType.CHARGE, oct16);
+        pointHistoryRepository.insert(1, 3000, TransactionType.CHARGE, oct17);
+        pointHistoryRepository.insert(1, 500, TransactionType.USE, oct17);
+        pointHistoryRepository.insert(1, 700, TransactionType.USE, millis(LocalDate.of(2026, 9, 30)));
+
+        // when
+        PointSummary summary = pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 10, 17));
+
+        // then
+        assertThat(summary.total()).isEqualTo(new PointTotals(6000, 3, 1200, 2));
+        assertThat(summary.daily()).isEqualTo(new PointTotals(3000, 1, 500, 1));
+        assertThat(summary.monthly()).isEqualTo(new PointTotals(6000, 3, 500, 1));
+        assertThat(pointHistoryRepository.summaryByUserId(2, LocalDate.of(2026, 10, 17)).total()).isEqualTo(PointTotals.EMPTY);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지나 접은 날짜의 요약은 0 이 아닌 예외로 거절되고, 전체 집계에는 남는다")
+    public void summaryPruneTest() {
+        // given : 1월 10일 충전 1건, 10월 17일 충전 1건
+        pointHistoryRepository.insert(1, 1000, TransactionType.CHARGE, millis(LocalDate.of(2026, 1, 10)));
+        pointHistoryRepository.insert(1, 2000, TransactionType.CHARGE, millis(LocalDate.of(2026, 10, 17)));
+
+        // when : 10월 1일 이전 내역을 접음
+        pointHistoryRepository.compact(millis(LocalDate.of(2026, 10, 1)));
+
+        // then : 접은 날짜는 거절, 경계 날짜부터는 그대로 요약
+        assertThatThrownBy(() -> pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 1, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 9, 30)))
+                .isInstanceOf(IllegalArgumentException.class);
+        PointSummary first = pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 10, 1));
+        PointSummary recent = pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 10, 17));
+        assertThat(first.daily()).isEqualTo(PointTotals.EMPTY);
+        assertThat(recent.daily()).isEqualTo(new PointTotals(2000, 1, 0, 0));
+        assertThat(recent.monthly()).isEqualTo(new PointTotals(2000, 1, 0, 0));
+        assertThat(recent.total()).isEqualTo(new PointTotals(3000, 2, 0, 0));
+    }
+
+    @Test
+    @DisplayName("저널 복구로 체크포인트를 되살리면 접힌 마지막 날짜까지는 거절하고, 그 달의 월 합계는 알 수 없음(null)")
+    public void summaryRestoredCheckpointTest() {
+        // given : 10월 5일까지 접힌 체크포인트와 10월 17일 충전 1건
+        pointHistoryRepository.restore(new PointHistoryCheckpoint(1, 10, millis(LocalDate.of(2026, 10, 5)), new PointTotals(5000, 3, 0, 0)));
+        pointHistoryRepository.insert(1, 2000, TransactionType.CHARGE, millis(LocalDate.of(2026, 10, 17)));
+
+        // when, then
+        assertThatThrownBy(() -> pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 10, 5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        PointSummary recent = pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 10, 17));
+        assertThat(recent.daily()).isEqualTo(new PointTotals(2000, 1, 0, 0));
+        assertThat(recent.monthly()).isNull();
+        assertThat(recent.total()).isEqualTo(new PointTotals(7000, 4, 0, 0));
+        assertThat(pointHistoryRepository.summaryByUserId(1, LocalDate.of(2026, 11, 1)).monthly()).isEqualTo(PointTotals.EMPTY);
+    }
+
+    @Test
+    @DisplayName("일별 집계의 날짜는 설정한 시간대 기준으로 나뉜다")
+    public void summaryZoneTest() throws InterruptedException {
+        // given : UTC 10월 16일 20시 (서울 10월 17일 5시)
+        long millis = LocalDateTime.of(2026, 10, 16, 20, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        PointHistoryRepository utc = new PointHistoryRepository(mock(PointHistoryTable.class), new PointMetrics(), 100, ZoneOffset.UTC);
+        PointHistoryRepository seoul = new PointHistoryRepository(mock(PointHistoryTable.class), new PointMetrics(), 100, ZoneId.of("Asia/Seoul"));
+
+        // when
+        utc.insert(1, 1000, TransactionType.CHARGE, millis);
+        seoul.insert(1, 1000, TransactionType.CHARGE, millis);
+
+        // then
+        assertThat(utc.summaryByUserId(1, LocalDate.of(2026, 10, 16)).daily().chargeCount()).isEqualTo(1);
+        assertThat(seoul.summaryByUserId(1, LocalDate.of(2026, 10, 16)).daily().chargeCount()).isZero();
+        assertThat(seoul.summaryByUserId(1, LocalDate.of(2026, 10, 17)).daily().chargeCount()).isEqualTo(1);
+        utc.close();
+        seoul.close();
+    }
+
+    @Test
+    @DisplayName("기록 시각 범위로 조회하면 [from, to) 안의 내역만 페이지로 나눠 반환된다")
+    public void rangeTest() {
+        // given : 1000ms 간격으로 10건
+        for (int n=1; n<=10; n++) {
+            pointHistoryRepository.insert(1, n * 100, TransactionType.CHARGE, n * 1000L);
+        }
+
+        // when : 3000 ~ 8000 (8000 은 제외) 을 2건씩
+        PointHistoryPage first = pointHistoryRepository.selectRangeByUserId(1, 3000, 8000, 0, 2);
+        PointHistoryPage last = pointHistoryRepository.selectRangeByUserId(1, 3000, 8000, first.nextCursor(), 10);
+
+        // then
+        assertThat(first.histories()).extracting(PointHistory::updateMillis).containsExactly(3000L, 4000L);
+        assertThat(last.histories()).extracting(PointHistory::updateMillis).containsExactly(5000L, 6000L, 7000L);
+        assertThat(last.nextCursor()).isNull();
+        assertThat(pointHistoryRepository.selectRangeByUserId(2, 0, Long.MAX_VALUE, 0, 10).histories()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 기록 시각 순서와 다르게 저장해도 기간 조회 결과는 전체를 걸러낸 것과 같다")
+    public void concurrentRangeTest() throws InterruptedException {
+        // given : 각 스레드가 조금씩 이른 시각을 섞어서 저장
+        int threadCnt = 8;
+        int insertCnt = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        AtomicLong clock = new AtomicLong(1_000_000);
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int n=0; n<insertCnt; n++) {
+                        long updateMillis = clock.getAndAdd(ThreadLocalRandom.current().nextInt(3)) - ThreadLocalRandom.current().nextInt(20);
+                        pointHistoryRepository.insert(1, 1, TransactionType.CHARGE, updateMillis);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // when
+        long from = 1_000_000 + 1000;
+        long to = from + 3000;
+        List<Long> expected = pointHistoryRepository.selectAllByUserId(1).stream()
+                .filter(history -> history.updateMillis() >= from && history.updateMillis() < to)
+                .map(PointHistory::id)
+                .toList();
+        List<Long> actual = new ArrayList<>();
+        long cursor = 0;
+        do {
+            PointHistoryPage page = pointHistoryRepository.selectRangeByUserId(1, from, to, cursor, 100);
+            page.histories().forEach(history -> actual.add(history.id()));
+            cursor = page.nextCursor() == null ? -1 : page.nextCursor();
+        } while (cursor >= 0);
+
+        // then
+        assertThat(expected).isNotEmpty();
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static long millis(LocalDate date) {
+        return date.atTime(12, 0).atZone(PointAggregate.DEFAULT_ZONE).toInstant().toEpochMilli();
+    }
+}
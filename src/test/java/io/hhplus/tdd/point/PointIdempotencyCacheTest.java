@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import io.hhplus.tdd.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("멱등성 키 캐시 테스트")
+public class PointIdempotencyCacheTest {
+
+    private final PointIdempotencyCache cache = new PointIdempotencyCache();
+
+    private static UserPointResponse response(long id, long point) {
+        UserPointResponse response = new UserPointResponse();
+        response.setUserPoint(new UserPoint(id, point, 0));
+        return response;
+    }
+
+    @Test
+    @DisplayName("처리 중에 같은 키로 온 요청은 다시 실행하지 않고 처음 요청의 결과를 기다림")
+    public void inFlightDuplicateTest() {
+        // given : 처음 요청이 아직 끝나지 않음
+        AtomicInteger executed = new AtomicInteger();
+        CompletableFuture<UserPointResponse> original = new CompletableFuture<>();
+        CompletableFuture<UserPointResponse> first = cache.execute(1, "key-1", TransactionType.CHARGE, 1000, () -> {
+            executed.incrementAndGet();
+            return original;
+        });
+
+        // when : 같은 키로 다시 요청
+        CompletableFuture<UserPointResponse> retry = cache.execute(1, "key-1", TransactionType.CHARGE, 1000, () -> {
+            executed.incrementAndGet();
+            return CompletableFuture.completedFuture(response(1, 2000));
+        });
+        assertThat(retry).isNotDone();
+        original.complete(response(1, 1000));
+
+        // then : 한번만 실행되고 둘 다 같은 결과
+        assertThat(executed).hasValue(1);
+        assertThat(first.join().getUserPoint().point()).isEqualTo(1000);
+        assertThat(retry.join().getUserPoint().point()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("같은 키라도 유저가 다르면 따로 처리")
+    public void keyPerUserTest() {
+        // when
+        UserPointResponse first = cache.execute(1, "key-1", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.completedFuture(response(1, 1000))).join();
+        UserPointResponse second = cache.execute(2, "key-1", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.completedFuture(response(2, 1000))).join();
+
+        // then
+        assertThat(first.getUserPoint().id()).isEqualTo(1);
+        assertThat(second.getUserPoint().id()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 보관하지 않아 같은 키로 다시 처리할 수 있음")
+    public void failureNotCachedTest() {
+        // given : 잔액 부족으로 실패
+        CompletableFuture<UserPointResponse> failed = cache.execute(1, "key-1", TransactionType.USE, 1000,
+                () -> CompletableFuture.failedFuture(new PointNotEnoughException("포인트가 부족합니다.")));
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(PointNotEnoughException.class);
+
+        // when : 충전 후 같은 키로 재시도
+        UserPointResponse retried = cache.execute(1, "key-1", TransactionType.USE, 1000,
+                () -> CompletableFuture.completedFuture(response(1, 0))).join();
+
+        // then
+        assertThat(retried.getUserPoint().point()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 금액을 보내면 거절")
+    public void conflictTest() {
+        // given
+        cache.execute(1, "key-1", TransactionType.CHARGE, 1000, () -> CompletableFuture.completedFuture(response(1, 1000)));
+
+        // when, then
+        assertThatThrownBy(() -> cache.execute(1, "key-1", TransactionType.CHARGE, 2000,
+                () -> CompletableFuture.completedFuture(response(1, 3000))))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("요청 수 초과(429), 대기열 초과(503)로 반영 전에 거절된 요청은 보관하지 않음")
+    public void rejectedNotCachedTest() {
+        // given : 비동기 처리에서 CompletionException 으로 감싸진 거절
+        cache.execute(1, "key-1", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.failedFuture(new CompletionException(new TooManyRequestsException("요청이 많습니다.", 1))));
+        cache.execute(1, "key-2", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.failedFuture(new RejectedExecutionException("대기열이 가득 찼습니다.")));
+
+        // when
+        UserPointResponse first = cache.execute(1, "key-1", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.completedFuture(response(1, 1000))).join();
+        UserPointResponse second = cache.execute(1, "key-2", TransactionType.CHARGE, 1000,
+                () -> CompletableFuture.completedFuture(response(1, 2000))).join();
+
+        // then : 둘 다 새로 처리됨
+        assertThat(first.getUserPoint().point()).isEqualTo(1000);
+        assertThat(second.getUserPoint().point()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("잔액이 바뀐 뒤의 실패(저널 반영 실패 등)는 보관해서 같은 키로 다시 반영하지 않음")
+    public void failureAfterApplyCachedTest() {
+        // given : 잔액 반영 후 저널 fsync 실패
+        AtomicInteger executed = new AtomicInteger();
+        CompletableFuture<UserPointResponse> failed = cache.execute(1, "key-1", TransactionType.CHARGE, 1000, () -> {
+            executed.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("저널을 디스크에 반영하지 못했습니다."));
+        });
+
+        // when : 같은 키로 재시도
+        CompletableFuture<UserPointResponse> retried = cache.execute(1, "key-1", TransactionType.CHARGE, 1000, () -> {
+            executed.incrementAndGet();
+            return CompletableFuture.completedFuture(response(1, 2000));
+        });
+
+        // then : 다시 실행하지 않고 처음 실패를 그대로 반환
+        assertThat(executed).hasValue(1);
+        assertThat(retried).isSameAs(failed);
+        assertThatThrownBy(retried::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
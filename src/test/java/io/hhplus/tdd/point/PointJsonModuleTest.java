@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("응답 직렬화 테스트")
+public class PointJsonModuleTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper streaming = new ObjectMapper().registerModule(new PointJsonModule());
+
+    @Test
+    @DisplayName("직접 작성한 직렬화 결과는 기본 직렬화와 같음")
+    public void sameJsonTest() throws Exception {
+        // given
+        UserPoint userPoint = new UserPoint(1, 1000, 1_700_000_000_000L);
+        List<PointHistory> histories = List.of(
+                new PointHistory(1, 1, 1000, TransactionType.CHARGE, 1_700_000_000_000L),
+                new PointHistory(2, 1, 500, TransactionType.USE, 1_700_000_000_001L),
+                new PointHistory(3, 1, 0, null, 0));
+        PointAccount account = new PointAccount(userPoint, histories);
+
+        // when, then
+        assertThat(streaming.writeValueAsString(userPoint)).isEqualTo(reflective.writeValueAsString(userPoint));
+        assertThat(streaming.writeValueAsString(histories)).isEqualTo(reflective.writeValueAsString(histories));
+        assertThat(streaming.writeValueAsString(account)).isEqualTo(reflective.writeValueAsString(account));
+        assertThat(streaming.writeValueAsString(TransactionType.USE)).isEqualTo("\"USE\"");
+    }
+
+    @Test
+    @DisplayName("직렬화한 응답은 기본 역직렬화로 다시 읽을 수 있음")
+    public void roundTripTest() throws Exception {
+        // given
+        PointHistory history = new PointHistory(1, 2, 3, TransactionType.CHARGE, 4);
+
+        // when
+        PointHistory read = streaming.readValue(streaming.writeValueAsString(history), PointHistory.class);
+
+        // then
+        assertThat(read).isEqualTo(history);
+    }
+}
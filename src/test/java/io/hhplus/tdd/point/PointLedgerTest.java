@@ -0,0 +1,239 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 원장 테스트")
+public class PointLedgerTest {
+
+    private PointLedger pointLedger;
+    private final UserPointCache userPointCache = new UserPointCache();
+    private volatile CountDownLatch tableRelease = new CountDownLatch(0);      // 열리기 전까지 테이블 저장을 막음
+    private final Map<Long, Long> tableRows = new ConcurrentHashMap<>();      // 테이블에 마지막으로 저장된 잔액
+
+    @BeforeEach
+    void setUp() {
+        // 테이블은 지연 없이 마지막 잔액만 기록하도록 설정
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            tableRelease.await();
+            tableRows.put(invocation.getArgument(0), invocation.getArgument(1));
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0);
+        });
+        pointLedger = new PointLedger(userPointTable, new PointMetrics(), userPointCache);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointLedger.close();
+    }
+
+    @Test
+    @DisplayName("없는 유저는 충전하면 생성되고, 사용하면 예외")
+    public void newUserTest() throws Exception {
+        // given
+        PointLedger.Cell charged = pointLedger.register(1, null);
+        PointLedger.Cell used = pointLedger.register(2, null);
+
+        // when
+        UserPoint result = pointLedger.charge(charged, 1000);
+
+        // then
+        assertThat(result.point()).isEqualTo(1000);
+        assertThatNullPointerException().isThrownBy(() -> pointLedger.use(used, 1000)).withMessage("존재하지 않는 id 입니다.");
+        assertThat(used.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 충전/사용해도 잔액은 음수가 되지 않고, 성공한 요청의 합과 같다")
+    public void concurrentStressTest() throws Exception {
+        // given : 잔액 1000p 인 유저 4명
+        int userCnt = 4;
+        int threadCnt = 16;
+        int operationCnt = 20000;
+        for (long id = 1; id <= userCnt; id++) {
+            pointLedger.register(id, new UserPoint(id, 1000, 0));
+        }
+        AtomicLong[] expected = new AtomicLong[userCnt + 1];
+        for (int id = 1; id <= userCnt; id++) {
+            expected[id] = new AtomicLong(1000);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong negativeCount = new AtomicLong();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt + 1);
+
+        // 잔액을 계속 확인하는 스레드
+        Future<?> watcher = executorService.submit(() -> {
+            while (running.get()) {
+                for (long id = 1; id <= userCnt; id++) {
+                    if (pointLedger.find(id).get().point() < 0) {
+                        negativeCount.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        // when : 스레드마다 무작위 유저에게 충전(100p) 1번당 사용(30~70p) 3번 비율로 요청
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int n=0; n<operationCnt; n++) {
+                        int id = random.nextInt(1, userCnt + 1);
+                        PointLedger.Cell cell = pointLedger.find(id);
+                        if (random.nextInt(4) == 0) {
+                            pointLedger.charge(cell, 100);
+                            expected[id].addAndGet(100);
+                        } else {
+                            long amount = random.nextLong(30, 71);
+                            try {
+                                pointLedger.use(cell, amount);
+                                expected[id].addAndGet(-amount);
+                            } catch (PointNotEnoughException ignored) {
+
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        running.set(false);
+        watcher.get();
+        executorService.shutdown();
+        pointLedger.flush();
+
+        // then : 음수 잔액은 한번도 관측되지 않았고, 원장과 테이블 모두 성공한 요청의 합과 같음
+        assertThat(negativeCount.get()).isZero();
+        for (long id = 1; id <= userCnt; id++) {
+            long point = pointLedger.find(id).get().point();
+            assertThat(point).isGreaterThanOrEqualTo(0).isEqualTo(expected[(int) id].get());
+            assertThat(tableRows.get(id)).isEqualTo(point);
+        }
+    }
+
+    @Test
+    @DisplayName("오래 바뀌지 않고 테이블에 저장된 cell 만 원장에서 내리고, 내린 cell 에는 쓸 수 없음")
+    public void evictIdleTest() throws Exception {
+        // given : 저장까지 끝난 유저 1, 저장 대기 중인 유저 2, 쓰기 중인 유저 3
+        tableRelease = new CountDownLatch(1);
+        PointLedger.Cell saved = pointLedger.register(1, new UserPoint(1, 100, 0));
+        PointLedger.Cell dirty = pointLedger.register(2, new UserPoint(2, 100, 0));
+        PointLedger.Cell writing = pointLedger.register(3, new UserPoint(3, 100, 0));
+        pointLedger.charge(dirty, 100);
+        writing.beginWrite();
+
+        // when
+        int evicted = pointLedger.evictIdle(Long.MAX_VALUE);
+
+        // then : 유저 1 만 내려가서 캐시로 옮겨지고, 내린 cell 은 쓰기 구간을 시작할 수 없음
+        assertThat(evicted).isEqualTo(1);
+        assertThat(pointLedger.find(1)).isNull();
+        assertThat(userPointCache.get(1)).isEqualTo(new UserPoint(1, 100, 0));
+        assertThat(saved.beginWrite()).isFalse();
+        assertThat(pointLedger.read(saved, UserPoint::point)).isNull();
+        assertThat(pointLedger.find(2)).isSameAs(dirty);
+        assertThat(pointLedger.find(3)).isSameAs(writing);
+
+        // when : 쓰기와 저장이 끝나면 다음 정리 때 내려감
+        writing.endWrite();
+        tableRelease.countDown();
+        pointLedger.flush();
+        evicted = pointLedger.evictIdle(Long.MAX_VALUE);
+
+        // then
+        assertThat(evicted).isEqualTo(2);
+        assertThat(pointLedger.size()).isZero();
+        assertThat(userPointCache.get(2).point()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("최근에 바뀐 cell 은 원장에 남음")
+    public void recentlyUpdatedTest() throws Exception {
+        // given
+        PointLedger.Cell cell = pointLedger.register(1, new UserPoint(1, 100, 0));
+        UserPoint updated = pointLedger.charge(cell, 100);
+        pointLedger.flush();
+
+        // when
+        int evicted = pointLedger.evictIdle(updated.updateMillis());
+
+        // then
+        assertThat(evicted).isZero();
+        assertThat(pointLedger.find(1)).isSameAs(cell);
+    }
+
+    @Test
+    @DisplayName("실제 테이블에 잔액을 저장하는 중에 조회해도 저장된 잔액을 놓치지 않음")
+    public void loadWhileWritingTest() throws Exception {
+        // given : 실제 테이블에 유저 1~10 의 잔액 100p 저장
+        PointLedger ledger = new PointLedger(new UserPointTable(), new PointMetrics());
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            for (long id = 1; id <= 10; id++) {
+                ledger.charge(ledger.register(id, null), 100);
+            }
+            ledger.flush();
+
+            // when : 유저 11~30 을 저장하는 동안 (테이블 HashMap 이 커지는 중) 유저 1~10 을 여러 스레드에서 조회
+            for (long id = 11; id <= 30; id++) {
+                ledger.charge(ledger.register(id, null), 200);
+            }
+            List<Future<UserPoint>> loads = new ArrayList<>();
+            for (int round = 0; round < 2; round++) {
+                for (long id = 1; id <= 10; id++) {
+                    long userId = id;
+                    loads.add(executorService.submit(() -> ledger.load(userId)));
+                }
+            }
+            ledger.flush();
+
+            // then : 조회는 모두 저장된 잔액이고, 조회와 겹친 저장도 모두 반영됨
+            for (Future<UserPoint> load : loads) {
+                assertThat(load.get().point()).isEqualTo(100);
+            }
+            assertThat(ledger.load(13).point()).isEqualTo(200);
+            assertThat(ledger.load(30).point()).isEqualTo(200);
+        } finally {
+            executorService.shutdown();
+            ledger.close();
+        }
+    }
+
+    @Test
+    @DisplayName("테이블 저장이 실패하면 다시 시도해서 잔액이 저장되고, 저장된 뒤에는 원장에서 내릴 수 있음")
+    public void writeRetryTest() throws Exception {
+        // given : 첫 저장만 실패하는 테이블
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willThrow(new IllegalStateException("저장 실패"))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0));
+        PointLedger ledger = new PointLedger(userPointTable, new PointMetrics());
+        try {
+            // when
+            ledger.charge(ledger.register(1, null), 100);
+            ledger.flush();
+
+            // then : 두번째 시도에 저장되고, 저장된 cell 이라 정리 대상이 됨
+            verify(userPointTable, times(2)).insertOrUpdate(1L, 100L);
+            assertThat(ledger.evictIdle(Long.MAX_VALUE)).isEqualTo(1);
+        } finally {
+            ledger.close();
+        }
+    }
+}
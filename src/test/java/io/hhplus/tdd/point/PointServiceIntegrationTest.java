@@ -2,6 +2,7 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,11 @@ public class PointServiceIntegrationTest {
         pointService = new PointService(userPointTable,pointHistoryTable);
     }
 
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+    }
+
     // 동시성 제어
     @Test
     @DisplayName("여러 스레드가 포인트 충전 호출시 동시성 제어 테스트")
@@ -3,21 +3,25 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.PointNotEnoughException;
+import io.hhplus.tdd.journal.PointJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
 
 @DisplayName("포인트관련 서비스 로직 테스트")
 public class PointServiceTest {
 
-    @InjectMocks
     private PointService pointService;
 
     @Mock
@@ -29,6 +33,12 @@ public class PointServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        pointService = new PointService(userPointTable, pointHistoryTable);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
     }
 
     @Test
@@ -61,6 +71,26 @@ public class PointServiceTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    @DisplayName("한번 조회한 포인트는 캐시에서 조회하고, 충전하면 캐시도 갱신")
+    public void selectUserByIdCacheTest() {
+        // given : 50000p 를 가진 유저
+        long id = 1;
+        given(userPointTable.selectById(anyLong())).willReturn(new UserPoint(id, 50000, 0));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(new UserPoint(id, 80000, 0));
+
+        // when : 두번 조회 후 충전하고 다시 조회
+        pointService.selectPointById(id);
+        UserPoint cached = pointService.selectPointById(id);
+        pointService.chargePoint(id, 30000);
+        UserPoint charged = pointService.selectPointById(id);
+
+        // then : 테이블 조회는 처음 한번뿐이고, 충전 후에도 최신 값이 조회됨
+        assertThat(cached.point()).isEqualTo(50000);
+        assertThat(charged.point()).isEqualTo(80000);
+        verify(userPointTable, times(1)).selectById(anyLong());
+    }
+
     @Test
     @DisplayName("포인트 충전 테스트 - 신규 ID")
     public void newChargePointTest() {
@@ -144,8 +174,6 @@ public class PointServiceTest {
     public void selectPointHistorysNullTest () {
         // given : 포인트 내역이 없는 경우를 반환 (size == 0)
         long id = 1;
-        List<PointHistory> historyList = new ArrayList<PointHistory>();
-        given(pointHistoryTable.selectAllByUserId(anyLong())).willReturn(historyList.stream().toList());
 
         // when : 포인트 내역 조회 서비스 호출
         List<PointHistory> result = pointService.findAllHistoryById(id);
@@ -157,14 +185,18 @@ public class PointServiceTest {
     @Test
     @DisplayName("포인트 충전,사용 내역 조회 테스트")
     public void selectPointHistorysTest () {
-        // given : 포인트 내역 생성 및 해당 리스트 조회
+        // given : 포인트 내역 생성 (내역 id 는 저장소에서 순서대로 발급)
         long userId = 1;
         List<PointHistory> phList = List.of(new PointHistory(1, userId, 1000, TransactionType.CHARGE, 0),
                 new PointHistory(2, userId, 2000, TransactionType.CHARGE, 0),
-                new PointHistory(4, userId, 4000, TransactionType.CHARGE, 0),
-                new PointHistory(3, userId, 3000, TransactionType.CHARGE, 0)
+                new PointHistory(3, userId, 4000, TransactionType.CHARGE, 0),
+                new PointHistory(4, userId, 3000, TransactionType.CHARGE, 0)
         );
-        given(pointHistoryTable.selectAllByUserId(anyLong())).willReturn(phList.stream().toList());
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(new UserPoint(userId, 0, 0));
+        for (PointHistory history : phList) {
+            pointService.chargePoint(userId, history.amount());
+        }
+        pointService.chargePoint(2, 5000);      // 다른 유저의 내역
 
         // when : 포인트 내역 조회 서비스 호출
         List<PointHistory> result = pointService.findAllHistoryById(userId);
@@ -182,15 +214,15 @@ public class PointServiceTest {
         long amount = 50000;
         long addPoint = 20000;
         given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(new UserPoint(id, amount+addPoint, 0));   //
-        given(pointHistoryTable.insert(anyLong(),anyLong(),any(),anyLong())).willReturn(new PointHistory(1, id, amount+addPoint, TransactionType.CHARGE, 0));
 
         // when : 포인트 충전 서비스 호출
         UserPointResponse result = pointService.chargePoint(id, amount);
 
-        // then : 히스토리에 저장된 값이 충전될때 정보랑 일치하는지?
+        // then : 히스토리에 저장된 값이 충전될때 정보랑 일치하는지? (테이블 저장은 비동기로 처리)
         assertThat(result.getPointHistory().userId()).isEqualTo(id);
-        assertThat(result.getPointHistory().amount()).isEqualTo(amount+addPoint);
+        assertThat(result.getPointHistory().amount()).isEqualTo(amount);
         assertThat(result.getPointHistory().type()).isEqualTo(TransactionType.CHARGE);
+        verify(pointHistoryTable, timeout(1000)).insert(id, amount, TransactionType.CHARGE, result.getPointHistory().updateMillis());
     }
 
     @Test
@@ -204,15 +236,88 @@ public class PointServiceTest {
         UserPoint userPoint = new UserPoint(id, amount, 0);
         given(userPointTable.selectById(anyLong())).willReturn(userPoint);
         given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(new UserPoint(userPoint.id(), userPoint.point()-usePoint, 0));
-        given(pointHistoryTable.insert(anyLong(),anyLong(),any(),anyLong())).willReturn(new PointHistory(1, userPoint.id(), userPoint.point()-usePoint, TransactionType.USE, 0));
 
         // when : 포인트 사용 서비스 호출
         UserPointResponse result = pointService.usePoint(id, usePoint);
 
-        // then : 히스토리에 저장된 값이 사용될때 정보랑 일치하는지?
+        // then : 히스토리에 저장된 값이 사용될때 정보랑 일치하는지? (테이블 저장은 비동기로 처리)
         assertThat(result.getPointHistory().userId()).isEqualTo(id);
-        assertThat(result.getPointHistory().amount()).isEqualTo(amount-usePoint);
+        assertThat(result.getPointHistory().amount()).isEqualTo(usePoint);
         assertThat(result.getPointHistory().type()).isEqualTo(TransactionType.USE);
+        verify(pointHistoryTable, timeout(1000)).insert(id, usePoint, TransactionType.USE, result.getPointHistory().updateMillis());
     }
 
+    @Test
+    @DisplayName("같은 유저에게 동시에 들어온 사용 요청은 잔액 안에서만 성공하고, 테이블에는 마지막 잔액만 저장")
+    public void concurrentUseTest() throws InterruptedException {
+        // given : 저장에 시간이 걸리는 테이블 (잔액 10000p)
+        long id = 1;
+        AtomicLong stored = new AtomicLong(10000);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> new UserPoint(id, stored.get(), 0));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            Thread.sleep(50);
+            stored.set(invocation.getArgument(1));
+            return new UserPoint(id, stored.get(), 0);
+        });
+        int threadCnt = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        AtomicLong failCount = new AtomicLong();
+
+        // when : 3000p 사용 요청 10건 (3건만 성공 가능)
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.usePoint(id, 3000);
+                } catch (PointNotEnoughException e) {
+                    failCount.getAndIncrement();
+                } catch (Exception ignored) {
+
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then : 잔액 부족은 해당 요청만 실패하고, 테이블은 비동기로 마지막 잔액이 저장되며 저장 횟수는 성공 수 이하
+        assertThat(failCount.get()).isEqualTo(7);
+        assertThat(pointService.selectPointById(id).point()).isEqualTo(1000);
+        verify(userPointTable, timeout(1000)).insertOrUpdate(id, 1000);
+        assertThat(stored.get()).isEqualTo(1000);
+        verify(userPointTable, atMost(3)).insertOrUpdate(anyLong(), anyLong());
+        verify(userPointTable, times(1)).selectById(anyLong());
+    }
+
+    @Test
+    @DisplayName("충전/사용 결과와 락, 테이블 호출 시간이 지표로 기록됨")
+    public void metricsTest() throws InterruptedException {
+        // given : 지표를 확인할 수 있는 레지스트리로 서비스 생성 (잔액 10000p)
+        long id = 1;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(registry);
+        PointLedger pointLedger = new PointLedger(userPointTable, pointMetrics);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, pointMetrics);
+        pointService.close();       // setUp 에서 만든 서비스 대신 사용
+        pointService = new PointService(pointHistoryRepository,
+                new UserPointCache(UserPointCache.DEFAULT_MAXIMUM_SIZE, pointMetrics), pointMetrics,
+                PointJournal.none(), pointLedger, PointAdmission.unlimited(pointMetrics));
+        given(userPointTable.selectById(anyLong())).willReturn(new UserPoint(id, 10000, 0));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(new UserPoint(id, 5000, 0));
+
+        // when : 5000p 사용 성공 후 50000p 사용 실패
+        assertThatNoException().isThrownBy(() -> pointService.usePoint(id, 5000));
+        assertThatExceptionOfType(PointNotEnoughException.class).isThrownBy(() -> pointService.usePoint(id, 50000));
+        pointLedger.flush();
+
+        // then : 유저 락과 캐시 조회는 원장에 처음 등록할 때만 사용
+        assertThat(registry.get("point.operations").tags("operation", "use", "outcome", "success").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.operations").tags("operation", "use", "outcome", "not_enough").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.wait").tag("operation", "use").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.table.latency").tags("table", "user_point", "method", "insertOrUpdate").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "user_point", "result", "miss").functionCounter().count()).isEqualTo(1);
+        pointLedger.close();
+        pointHistoryRepository.close();
+    }
 }
@@ -0,0 +1,188 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import io.hhplus.tdd.journal.PointJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("포인트 이체 테스트")
+public class PointTransferTest {
+
+    private UserPointTable userPointTable;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = mock(UserPointTable.class);
+        pointService = new PointService(userPointTable, mock(PointHistoryTable.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("이체하면 보내는 유저는 사용, 받는 유저는 충전 내역이 남고 잔액 합은 그대로")
+    public void transferTest() throws Exception {
+        // given
+        pointService.chargePoint(1, 1000);
+
+        // when
+        PointTransferResult result = pointService.transferPoint(1, 2, 300);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700);
+        assertThat(result.to().point()).isEqualTo(300);
+        assertThat(pointService.findAllHistoryById(1)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        assertThat(pointService.findAllHistoryById(2)).containsExactly(result.toHistory());
+    }
+
+    @Test
+    @DisplayName("잔액이 부족하면 두 유저 모두 변경되지 않음")
+    public void notEnoughTest() {
+        // given
+        pointService.chargePoint(1, 100);
+        pointService.chargePoint(2, 50);
+
+        // when, then
+        assertThatThrownBy(() -> pointService.transferPoint(1, 2, 300)).isInstanceOf(PointNotEnoughException.class);
+        assertThat(pointService.selectPointById(1).point()).isEqualTo(100);
+        assertThat(pointService.selectPointById(2).point()).isEqualTo(50);
+        assertThat(pointService.findAllHistoryById(2)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("내역 저장 대기열에 두 건의 자리가 없으면 잔액을 바꾸기 전에 거절")
+    public void historyQueueFullTest() throws Exception {
+        // given : 내역 저장 대기열 크기가 1 이라 이체 내역 두 건이 들어갈 자리가 없음
+        PointMetrics pointMetrics = new PointMetrics();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(mock(PointHistoryTable.class), pointMetrics, 1);
+        PointLedger pointLedger = new PointLedger(userPointTable, pointMetrics);
+        PointService service = new PointService(pointHistoryRepository, new UserPointCache(), pointMetrics,
+                PointJournal.none(), pointLedger, PointAdmission.unlimited(pointMetrics));
+        service.chargePoint(1, 1000);
+        pointHistoryRepository.flush();
+        service.chargePoint(2, 1000);
+        pointHistoryRepository.flush();
+
+        // when, then : 두 유저 모두 잔액과 내역이 그대로
+        assertThatThrownBy(() -> service.transferPoint(1, 2, 300)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(service.selectPointById(1).point()).isEqualTo(1000);
+        assertThat(service.selectPointById(2).point()).isEqualTo(1000);
+        assertThat(service.findAllHistoryById(1)).hasSize(1);
+        assertThat(service.findAllHistoryById(2)).hasSize(1);
+        pointLedger.close();
+        pointHistoryRepository.close();
+    }
+
+    @Test
+    @DisplayName("서로 반대 방향의 이체가 동시에 와도 교착 없이 끝나고 전체 잔액은 보존")
+    public void oppositeTransferTest() throws Exception {
+        // given : 3명이 1000p 씩
+        for (long id = 1; id <= 3; id++) {
+            pointService.chargePoint(id, 1000);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(6);
+
+        // when : 1 -> 2 -> 3 -> 1 과 그 반대 방향으로 동시에 1p 씩 500번
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            long from = id;
+            long to = id % 3 + 1;
+            futures.add(CompletableFuture.runAsync(() -> transferRepeatedly(from, to, 500), executorService));
+            futures.add(CompletableFuture.runAsync(() -> transferRepeatedly(to, from, 500), executorService));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        long total = LongStream.rangeClosed(1, 3).map(id -> pointService.selectPointById(id).point()).sum();
+        assertThat(total).isEqualTo(3000);
+        assertThat(LongStream.rangeClosed(1, 3).map(id -> pointService.selectPointById(id).point())).containsOnly(1000);
+    }
+
+    @Test
+    @DisplayName("이체와 충전/사용이 동시에 섞여도 교착 없이 끝나고, 전체 잔액과 유저별 내역이 잔액과 맞음")
+    public void concurrentMixedTest() throws Exception {
+        // given : 5명이 1000p 씩
+        int userCnt = 5;
+        for (long id = 1; id <= userCnt; id++) {
+            pointService.chargePoint(id, 1000);
+        }
+        AtomicLong charged = new AtomicLong();
+        AtomicLong used = new AtomicLong();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when : 스레드 8개가 무작위 유저 사이의 이체, 충전(10p), 사용(10p)을 300번씩
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < 300; n++) {
+                    long id = random.nextLong(1, userCnt + 1);
+                    try {
+                        switch (random.nextInt(3)) {
+                            case 0 -> pointService.transferPoint(id, (id - 1 + random.nextLong(1, userCnt)) % userCnt + 1, random.nextLong(1, 100));
+                            case 1 -> {
+                                pointService.chargePoint(id, 10);
+                                charged.addAndGet(10);
+                            }
+                            default -> {
+                                pointService.usePoint(id, 10);
+                                used.addAndGet(10);
+                            }
+                        }
+                    } catch (PointNotEnoughException ignored) {
+                        // 잔액 부족은 아무것도 바뀌지 않음
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }, executorService));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);     // 교착되면 시간 초과
+        executorService.shutdown();
+
+        // then : 전체 잔액은 처음 잔액 + 충전 - 사용 (이체는 합을 바꾸지 않음), 유저별 잔액은 내역의 합과 같음
+        long total = LongStream.rangeClosed(1, userCnt).map(id -> pointService.selectPointById(id).point()).sum();
+        assertThat(total).isEqualTo(userCnt * 1000L + charged.get() - used.get());
+        for (long id = 1; id <= userCnt; id++) {
+            long fromHistories = pointService.findAllHistoryById(id).stream()
+                    .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                    .sum();
+            assertThat(pointService.selectPointById(id).point()).isGreaterThanOrEqualTo(0).isEqualTo(fromHistories);
+        }
+    }
+
+    private void transferRepeatedly(long from, long to, int count) {
+        for (int i = 0; i < count; i++) {
+            transfer(from, to, 1);
+        }
+    }
+
+    private PointTransferResult transfer(long from, long to, long amount) {
+        try {
+            return pointService.transferPoint(from, to, amount);
+        } catch (PointNotEnoughException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
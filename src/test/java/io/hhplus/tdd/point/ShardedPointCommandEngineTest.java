@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.PointNotEnoughException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+@DisplayName("샤드 명령 처리 엔진 테스트")
+public class ShardedPointCommandEngineTest {
+
+    private PointService pointService;
+    private ShardedPointCommandEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pointService = new PointService(mock(UserPointTable.class), mock(PointHistoryTable.class));
+        engine = new ShardedPointCommandEngine(pointService, 4, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 여러 유저에게 명령을 보내도 유저별로 보낸 순서대로 처리")
+    public void submitOrderTest() {
+        // given : 유저 8명, 유저마다 한 스레드가 1 ~ 200p 를 순서대로 충전
+        int userCnt = 8;
+        int chargeCnt = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(userCnt);
+
+        // when
+        List<CompletableFuture<?>> submitted = new ArrayList<>();
+        for (long id = 1; id <= userCnt; id++) {
+            long userId = id;
+            submitted.add(CompletableFuture.runAsync(() -> {
+                List<CompletableFuture<UserPointResponse>> results = new ArrayList<>();
+                for (int n = 1; n <= chargeCnt; n++) {
+                    results.add(engine.submit(userId, TransactionType.CHARGE, n));
+                }
+                CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+            }, executorService));
+        }
+        CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).join();
+        executorService.shutdown();
+
+        // then : 잔액은 합계와 같고, 내역은 보낸 순서대로 저장됨
+        long expected = LongStream.rangeClosed(1, chargeCnt).sum();
+        for (long id = 1; id <= userCnt; id++) {
+            assertThat(pointService.selectPointById(id).point()).isEqualTo(expected);
+            assertThat(pointService.findAllHistoryById(id)).extracting(PointHistory::amount)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(1, chargeCnt).boxed().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("잔액이 부족한 명령만 실패하고 이후 명령은 계속 처리")
+    public void notEnoughTest() {
+        // given
+        long id = 1;
+        engine.submit(id, TransactionType.CHARGE, 1000);
+
+        // when
+        CompletableFuture<UserPointResponse> first = engine.submit(id, TransactionType.USE, 600);
+        CompletableFuture<UserPointResponse> second = engine.submit(id, TransactionType.USE, 600);
+        CompletableFuture<UserPointResponse> third = engine.submit(id, TransactionType.USE, 400);
+
+        // then
+        assertThat(first.join().getUserPoint().point()).isEqualTo(400);
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(PointNotEnoughException.class);
+        assertThat(third.join().getUserPoint().point()).isZero();
+    }
+
+    @Test
+    @DisplayName("처음 보는 유저의 테이블 조회는 제출한 스레드에서 하므로 같은 샤드의 다른 유저 명령을 막지 않음")
+    public void preloadTest() throws Exception {
+        // given : 샤드 1개, 유저 2 는 처음 조회에 300ms 걸리고 유저 1 은 이미 원장에 등록됨
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        given(userPointTable.selectById(2L)).willAnswer(invocation -> {
+            Thread.sleep(300);
+            return new UserPoint(2, 0, 0);
+        });
+        PointService service = new PointService(userPointTable, mock(PointHistoryTable.class));
+        try (ShardedPointCommandEngine single = new ShardedPointCommandEngine(service, 1, 64)) {
+            single.submit(1, TransactionType.CHARGE, 100).join();
+
+            // when : 유저 2 의 명령을 제출하는 중에 유저 1 의 명령을 제출
+            CompletableFuture<CompletableFuture<UserPointResponse>> slow =
+                    CompletableFuture.supplyAsync(() -> single.submit(2, TransactionType.CHARGE, 100));
+            Thread.sleep(50);
+            UserPointResponse fast = single.submit(1, TransactionType.CHARGE, 100).get(100, TimeUnit.MILLISECONDS);
+
+            // then : 유저 1 은 유저 2 의 조회를 기다리지 않고 처리되고, 유저 2 도 조회가 끝난 뒤 처리
+            assertThat(fast.getUserPoint().point()).isEqualTo(200);
+            assertThat(slow.join().join().getUserPoint().point()).isEqualTo(100);
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("종료 후에는 명령을 받지 않음")
+    public void closeTest() throws InterruptedException {
+        // given
+        engine.submit(1, TransactionType.CHARGE, 1000).join();
+
+        // when
+        engine.close();
+
+        // then
+        assertThatThrownBy(() -> engine.submit(1, TransactionType.CHARGE, 1000).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
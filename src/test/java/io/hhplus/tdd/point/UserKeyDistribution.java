@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크, 부하 테스트 유저 id 분포
+ * - single  : 항상 1번 유저 (한 유저에게 몰리는 경우)
+ * - uniform : 1 ~ users 균등 분포
+ * - zipfian : 1번 유저가 가장 많이 나오는 Zipf(s=1) 분포
+ */
+public final class UserKeyDistribution {
+
+    private final String type;
+    private final int users;
+    private final double[] cumulative;      // zipfian 누적 확률
+
+    public UserKeyDistribution(String type, int users) {
+        this.type = type;
+        this.users = users;
+        this.cumulative = "zipfian".equals(type) ? zipfCumulative(users) : null;
+    }
+
+    public long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (type) {
+            case "single" -> 1;
+            case "uniform" -> random.nextInt(users) + 1;
+            case "zipfian" -> {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble());
+                yield (index >= 0 ? index : -index - 1) + 1;
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 분포 : " + type);
+        };
+    }
+
+    private static double[] zipfCumulative(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("유저별 락 관리 테스트")
+public class UserLockManagerTest {
+
+    private final UserLockManager lockManager = new UserLockManager();
+
+    @Test
+    @DisplayName("서로 다른 유저의 락은 동시에 획득할 수 있다")
+    public void differentUsersLockInParallelTest() throws Exception {
+        // given : 1번 유저의 락을 다른 스레드가 잡고 있음
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() -> {
+            try (UserLockManager.Handle handle = lockManager.lock(1)) {
+                locked.countDown();
+                done.await();
+            }
+            return null;
+        });
+        locked.await();
+
+        // when : 2번 유저의 락을 획득
+        Future<Boolean> other = Executors.newSingleThreadExecutor().submit(() -> {
+            try (UserLockManager.Handle handle = lockManager.lock(2)) {
+                return true;
+            }
+        });
+
+        // then : 1번 유저의 락이 풀리지 않아도 바로 획득됨
+        assertThat(other.get(1, TimeUnit.SECONDS)).isTrue();
+        done.countDown();
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 요청은 직렬화되고, 끝나면 락 엔트리가 제거된다")
+    public void sameUserSerializedAndEvictedTest() throws InterruptedException {
+        // given
+        int threadCnt = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        AtomicInteger inside = new AtomicInteger();      // 임계영역 안의 스레드 수
+        AtomicInteger maxInside = new AtomicInteger();
+
+        // when
+        for (int i=1; i<=threadCnt; i++) {
+            executorService.submit(() -> {
+                try (UserLockManager.Handle handle = lockManager.lock(1)) {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    inside.decrementAndGet();
+                } catch (InterruptedException ignored) {
+
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then : 동시에 한 스레드만 들어갔고, 사용이 끝난 락은 남아있지 않음
+        assertThat(maxInside.get()).isEqualTo(1);
+        assertThat(lockManager.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드 모드 비교 테스트
+ * - 톰캣 스레드를 10개로 제한하고, 요청마다 200ms 씩 막히는 상황에서 동시에 처리중인 요청 수의 최대값을 비교
+ * - Java 21 이 필요해서 test 에서는 빠지고, JDK 21 toolchain 으로 도는 virtualThreadTest 태스크(check 에 포함)에서 두 모드를 함께 실행
+ */
+@Tag("jdk21")
+@DisplayName("가상 스레드 모드 동시 처리 요청 수 비교 테스트")
+public class VirtualThreadModeTest {
+
+    private static final int TOMCAT_THREADS = 10;
+    private static final int REQUEST_COUNT = 50;
+
+    @Test
+    @DisplayName("플랫폼 스레드 모드에서는 톰캣 스레드 수 만큼만 동시에 처리")
+    public void platformThreadTest() throws Exception {
+        // when
+        int maxInFlight = measureMaxInFlight(false);
+
+        // then : 톰캣 스레드 수를 넘지 않음 (모두 쓰였는지는 요청 도착 시점에 따라 달라서 확인하지 않음)
+        assertThat(maxInFlight).isBetween(1, TOMCAT_THREADS);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("가상 스레드 모드에서는 톰캣 스레드 수와 상관없이 동시에 처리")
+    public void virtualThreadTest() throws Exception {
+        // when
+        int maxInFlight = measureMaxInFlight(true);
+
+        // then
+        assertThat(maxInFlight).isGreaterThan(TOMCAT_THREADS);
+    }
+
+    private int measureMaxInFlight(boolean virtualThreads) throws Exception {
+        InFlightConfig.inFlight.set(0);
+        InFlightConfig.maxInFlight.set(0);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class, InFlightConfig.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            List<CompletableFuture<HttpResponse<Void>>> requests = IntStream.rangeClosed(1, REQUEST_COUNT)
+                    .mapToObj(id -> client.sendAsync(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + id)).build(),
+                            HttpResponse.BodyHandlers.discarding()))
+                    .toList();
+            // 스레드가 모자라도 결국 모든 요청이 처리되어야 함
+            CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            assertThat(requests).allSatisfy(request -> assertThat(request.join().statusCode()).isEqualTo(200));
+        }
+        return InFlightConfig.maxInFlight.get();
+    }
+
+    // 요청마다 200ms 씩 막히면서 동시에 처리중인 요청 수를 기록하는 필터 (다른 테스트에서 스캔되지 않도록 @Configuration 은 붙이지 않음)
+    static class InFlightConfig {
+        static final AtomicInteger inFlight = new AtomicInteger();
+        static final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Bean
+        Filter inFlightFilter() {
+            return (request, response, chain) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(200);
+                    chain.doFilter(request, response);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.recording;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("JFR 기록 테스트")
+public class PointRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    private PointRecorder pointRecorder;
+
+    @BeforeEach
+    void setUp() {
+        // threshold 0 : 모든 이벤트 기록
+        pointRecorder = new PointRecorder(directory, Duration.ofMinutes(1), 2, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointRecorder.close();
+    }
+
+    @Test
+    @DisplayName("기록 중 충전/사용하면 유저 id 와 결과가 담긴 이벤트가 .jfr 파일에 남음")
+    public void recordTest() throws Exception {
+        // given
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        PointService pointService = new PointService(userPointTable, mock(PointHistoryTable.class));
+        pointRecorder.start(Duration.ofSeconds(30));
+
+        // when
+        pointService.chargePoint(7, 1000);
+        assertThatThrownBy(() -> pointService.usePoint(7, 5000));
+        PointRecordingInfo info = pointRecorder.stop();
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(info.destination()));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("hhplus.PointOperation"))
+                .extracting(event -> event.getLong("userId"), event -> event.getString("outcome"))
+                .containsExactly(tuple(7L, "success"), tuple(7L, "not_enough"));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("hhplus.PointTable"))
+                .extracting(event -> event.getString("method"), event -> event.getLong("userId"))
+                .contains(tuple("selectById", 7L));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("hhplus.PointLock"))
+                .extracting(event -> event.getLong("userId"))
+                .containsExactly(7L);
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("이미 기록 중이면 새 기록을 시작할 수 없음")
+    public void alreadyRecordingTest() {
+        // given
+        pointRecorder.start(Duration.ofSeconds(30));
+
+        // when, then
+        assertThatThrownBy(() -> pointRecorder.start(Duration.ofSeconds(30))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> pointRecorder.start(Duration.ofMinutes(2))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("기록 파일은 최근 max-files 개만 남음")
+    public void maxFilesTest() throws Exception {
+        // given
+        Files.createFile(directory.resolve("point-20240101-000000-000.jfr"));
+        Files.createFile(directory.resolve("point-20240102-000000-000.jfr"));
+        Files.createFile(directory.resolve("other.txt"));
+
+        // when
+        PointRecordingInfo info = pointRecorder.start(Duration.ofSeconds(30));
+        pointRecorder.stop();
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("point-20240102-000000-000.jfr", Path.of(info.destination()).getFileName().toString(), "other.txt");
+        }
+    }
+}